@@ -55,10 +55,15 @@ function addItemIcon(image, item) {
   $('.item-holder').append(icon);
 }
 
-function updateIcons() {
-  for (let i = 0; i < units.length; i++) {
+/**
+ * Updates the icons from the stats the game copied at the end of a tick. Each list is in the same
+ * order as the icons.
+ */
+function updateIcons(unitIcons, abilityIcons, itemIcons) {
+  for (let i = 0; i < Math.min(units.length, unitIcons.size()); i++) {
     let icon = $('.unit-holder .icon:nth-child(' + (i + 1) + ')');
-    let healthPercentage = units[i].getHealthPercent();
+    let unitIcon = unitIcons.get(i);
+    let healthPercentage = unitIcon.getHealthPercent();
     let healthBar = icon.find('.health-bar');
     healthBar.width((healthPercentage * 100) + '%');
     if (healthPercentage > 0.5) {
@@ -69,18 +74,14 @@ function updateIcons() {
       healthBar.css('background-color', '#FF003D')
     }
     let level = icon.find('.level');
-    level.html(units[i].getLevel());
+    level.html(unitIcon.getLevel());
 
-    let damage = Math.round(
-        units[i].getBaseAttack().getAmount()
-    );
-    let attackSpeed = Math.round(
-        units[i].getBaseAttack().getModifiedAttackSpeed(units[i])
-    );
-    let range = units[i].getBaseAttack().getModifiedRange(units[i]).toFixed(1);
-    let maxHealth = Math.round(units[i].getMaxHealth());
-    let currentHealth = Math.round(units[i].getHealth());
-    let movementSpeed = units[i].getSpeed().toFixed(2);
+    let damage = Math.round(unitIcon.getDamage());
+    let attackSpeed = Math.round(unitIcon.getAttackSpeed());
+    let range = unitIcon.getRange().toFixed(1);
+    let maxHealth = Math.round(unitIcon.getMaxHealth());
+    let currentHealth = Math.round(unitIcon.getHealth());
+    let movementSpeed = unitIcon.getSpeed().toFixed(2);
 
     let tooltiptext = "<b>Health</b>: " + currentHealth + "/" + maxHealth + "<br>"
         + "<b>Damage</b>: " + damage + "<br>"
@@ -91,31 +92,33 @@ function updateIcons() {
     icon.find('.icon-tooltiptext').html(tooltiptext)
   }
 
-  for (let i = 0; i < abilities.length; i++) {
+  for (let i = 0; i < Math.min(abilities.length, abilityIcons.size()); i++) {
     let icon = $('.ability-holder .icon:nth-child(' + (i + 1) + ')');
-    icon.find('.cooldown').width((abilities[i].getCoolDownProgress() * 100) + '%');
-    if (abilities[i].isSelected() && !icon.hasClass('selected')) {
+    let abilityIcon = abilityIcons.get(i);
+    icon.find('.cooldown').width((abilityIcon.getCoolDownProgress() * 100) + '%');
+    if (abilityIcon.isSelected() && !icon.hasClass('selected')) {
       icon.addClass('selected');
     }
-    if (!abilities[i].isSelected() && icon.hasClass('selected')) {
+    if (!abilityIcon.isSelected() && icon.hasClass('selected')) {
       icon.removeClass('selected');
     }
-    icon.find('.icon-tooltiptext').html(abilities[i].getDescription())
+    icon.find('.icon-tooltiptext').html(abilityIcon.getDescription())
   }
 
-  for (let i = 0; i < items.length; i++) {
+  for (let i = 0; i < Math.min(items.length, itemIcons.size()); i++) {
     let icon = $('.item-holder .icon:nth-child(' + (i + 1) + ')');
-    if (items[i].getUses() >= 0) {
-      icon.find('.icon-uses').html(items[i].getUses());
+    let itemIcon = itemIcons.get(i);
+    if (itemIcon.getUses() >= 0) {
+      icon.find('.icon-uses').html(itemIcon.getUses());
     }
-    icon.find('.cooldown').width((items[i].getCoolDownProgress() * 100) + '%');
-    if (items[i].isSelected() && !icon.hasClass('selected')) {
+    icon.find('.cooldown').width((itemIcon.getCoolDownProgress() * 100) + '%');
+    if (itemIcon.isSelected() && !icon.hasClass('selected')) {
       icon.addClass('selected');
     }
-    if (!items[i].isSelected() && icon.hasClass('selected')) {
+    if (!itemIcon.isSelected() && icon.hasClass('selected')) {
       icon.removeClass('selected');
     }
-    icon.find('.icon-tooltiptext').html(items[i].getDescription())
+    icon.find('.icon-tooltiptext').html(itemIcon.getDescription())
   }
 }
 
@@ -2,7 +2,7 @@ var DamageBuffEffect = Java.type('main.game.model.entity.usable.DamageBuffEffect
 var Collectors = Java.type('java.util.stream.Collectors');
 
 var apply = function(owner, target, attack, world) {
-  var effectedUnits = getEffectedUnits(owner, world, target, zattack);
+  var effectedUnits = getEffectedUnits(owner, world, target, attack);
   if (effectedUnits.size() == 0) {
     return;
   }
@@ -21,9 +21,9 @@ import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.Window;
+import main.game.model.world.saveandload.BinaryWorldSaveModel;
+import main.game.model.world.saveandload.DefaultFilesystem;
 import main.game.model.world.saveandload.DefaultWorldLoader;
-import main.game.model.world.saveandload.DefaultWorldSaveModel;
-import main.game.model.world.saveandload.DefaultWorldSaveModel.DefaultFilesystem;
 import main.menu.MainMenu;
 import main.menu.Menu;
 import main.util.Config;
@@ -93,10 +93,11 @@ public class Main extends Application {
       config.enableDebugMode();
     }
     config.setScreenDim((int) primaryStage.getWidth(), (int) primaryStage.getHeight());
+    final DefaultWorldLoader worldLoader = new DefaultWorldLoader();
     final MainMenu mainMenu = new MainMenu(
         this,
-        new DefaultWorldLoader(),
-        new DefaultWorldSaveModel(new DefaultFilesystem()),
+        worldLoader,
+        new BinaryWorldSaveModel(new DefaultFilesystem(), worldLoader),
         imageView,
         config
     );
@@ -145,22 +146,32 @@ public class Main extends Application {
   }
 
   /**
-   * Executes a script on the current browser view.
+   * Executes a script on the current browser view. Runs straight away when called on the JavaFX
+   * thread, otherwise it is queued to run on it.
    */
   public void executeScript(String script) {
-    Platform.runLater(() -> webEngine.executeScript(script));
+    runOnFxThread(() -> webEngine.executeScript(script));
   }
 
   /**
-   * Calls a javascript function on the current browser view.
+   * Calls a javascript function on the current browser view. Runs straight away when called on the
+   * JavaFX thread, otherwise it is queued to run on it.
    */
   public void callJsFunction(String function, Object... args) {
-    Platform.runLater(() -> {
+    runOnFxThread(() -> {
       JSObject window = (JSObject) webEngine.executeScript("window");
       window.call(function, args);
     });
   }
 
+  private static void runOnFxThread(Runnable runnable) {
+    if (Platform.isFxApplicationThread()) {
+      runnable.run();
+    } else {
+      Platform.runLater(runnable);
+    }
+  }
+
   /**
    * Loads a menu into the view and sets the controller.
    */
@@ -156,7 +156,8 @@ public class DefaultGameController implements GameController {
   public void onMouseEvent(MouseClick mouseEvent) {
 
     //select the unit under the click if there is one
-    Unit selectedUnit = model.getAllUnits()
+    Unit selectedUnit = model.getWorld()
+        .getUnitsInRange(mouseEvent.getLocation(), Unit.MAX_SIZE)
         .stream()
         .filter(u -> u.getCentre().distanceTo(mouseEvent.getLocation())
             <= Math.max(u.getSize().width, u.getSize().height))
@@ -304,7 +305,8 @@ public class DefaultGameController implements GameController {
    */
   public void onDbClick(MouseClick mouseEvent) {
     //select the unit under the click if there is one
-    Unit dbClickedUnit = model.getAllUnits()
+    Unit dbClickedUnit = model.getWorld()
+        .getUnitsInRange(mouseEvent.getLocation(), Unit.MAX_SIZE)
         .stream()
         .filter(u -> u.getTeam() == Team.PLAYER)
         .filter(u -> u.getCentre().distanceTo(mouseEvent.getLocation())
@@ -13,6 +13,7 @@ import main.util.Events.GameLost;
 import main.util.Events.GameWon;
 import main.util.Events.MainGameTick;
 import main.util.Looper;
+import main.util.TickStats;
 
 /**
  * Implementation of GameModel.
@@ -52,7 +53,7 @@ public class DefaultGameModel implements GameModel {
 
   @Override
   public void startGame() {
-    looper.startWithSchedule(() -> {
+    looper.startAtFixedRate(() -> {
       mainGameTick.broadcast(System.currentTimeMillis());
       if (world.isWon()) {
         gameWon.broadcast(null);
@@ -62,6 +63,11 @@ public class DefaultGameModel implements GameModel {
     }, DELAY);
   }
 
+  @Override
+  public TickStats getTickStats() {
+    return looper.getTickStats();
+  }
+
   @Override
   public void setUnitSelection(Collection<Unit> unitSelection) {
     selectedUnits = Collections.unmodifiableSet(new HashSet<>(unitSelection));
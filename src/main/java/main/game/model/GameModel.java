@@ -5,6 +5,7 @@ import main.game.model.entity.Entity;
 import main.game.model.entity.HeroUnit;
 import main.game.model.entity.Unit;
 import main.game.model.world.World;
+import main.util.TickStats;
 
 /**
  * Contains the main game loop, and controls the the progression of the story/game through the use
@@ -31,6 +32,11 @@ public interface GameModel {
    */
   void startGame();
 
+  /**
+   * Gets how long the main game loop's ticks are taking and how late they are starting.
+   */
+  TickStats getTickStats();
+
   /**
    * A setter method to select a collection.
    *
@@ -80,6 +80,10 @@ public class Level implements Serializable {
     return goalDescription;
   }
 
+  public Goal getGoal() {
+    return goal;
+  }
+
   /**
    * See {@link Goal#isCompleted(Level, World)}.
    */
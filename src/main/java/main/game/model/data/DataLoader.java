@@ -4,8 +4,15 @@ import com.google.gson.Gson;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import main.game.model.data.dataobject.AbilityData;
 import main.game.model.data.dataobject.AnimationData;
 import main.game.model.data.dataobject.AttackData;
@@ -17,6 +24,14 @@ import main.game.model.data.dataobject.UnitData;
 /**
  * Class to hold the caches for the data.
  * Basically a wrapper for the json data files.
+ *
+ * <p>
+ * Files are loaded in parallel on the common fork join pool, each one as soon as the files it
+ * refers to have been loaded (e.g. sprite sheet types wait for animations). Images aren't decoded
+ * while loading. They are decoded in the background afterwards, or when first needed if that
+ * happens first. How long each file took is in {@link #getLoadReport()}.
+ * </p>
+ *
  * @author Andrew McGhie
  */
 public class DataLoader {
@@ -38,6 +53,9 @@ public class DataLoader {
   private final Map<String, UnitData> unitTypes = new HashMap<>();
   private final Map<String, AbilityData> abilities = new HashMap<>();
 
+  private final Gson gson = new Gson();
+  private final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
   public DataLoader() {
     this(ANIMATIONS_FILE, SPRITESHEETTYPES_FILE, SPRITESHEETS_FILE, IMAGES_FILE,
         ATTACKS_FILE, UNITTYPES_FILE, ABILITIES_FILE);
@@ -47,19 +65,82 @@ public class DataLoader {
                     String imagesFile, String attacksFile, String unittypesFile,
                     String abilitiesFile) {
 
-    this.loadAnimations(animationsFile);
-    this.loadSpriteSheetTypes(spriteSheetTypesFile);
-    this.loadSpriteSheets(spriteSheetsFile);
-    this.loadImages(imagesFile);
-    this.loadAttacks(attacksFile);
-    this.loadUnitTypes(unittypesFile);
-    this.loadAbilities(abilitiesFile);
+    CompletableFuture<Void> animationsLoaded = this.loadAfter(
+        animationsFile, this::loadAnimations);
+    CompletableFuture<Void> imagesLoaded = this.loadAfter(
+        imagesFile, this::loadImages);
+    CompletableFuture<Void> spriteSheetTypesLoaded = this.loadAfter(
+        spriteSheetTypesFile, this::loadSpriteSheetTypes, animationsLoaded);
+    CompletableFuture<Void> spriteSheetsLoaded = this.loadAfter(
+        spriteSheetsFile, this::loadSpriteSheets, spriteSheetTypesLoaded);
+    CompletableFuture<Void> attacksLoaded = this.loadAfter(
+        attacksFile, this::loadAttacks, animationsLoaded);
+    CompletableFuture<Void> unitTypesLoaded = this.loadAfter(
+        unittypesFile, this::loadUnitTypes, spriteSheetsLoaded, attacksLoaded);
+    CompletableFuture<Void> abilitiesLoaded = this.loadAfter(
+        abilitiesFile, this::loadAbilities, attacksLoaded, imagesLoaded);
+
+    try {
+      CompletableFuture.allOf(unitTypesLoaded, abilitiesLoaded).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+
+    this.preloadImages();
+  }
+
+  /**
+   * Loads the file once all the dependencies have loaded.
+   */
+  private CompletableFuture<Void> loadAfter(
+      String file, Consumer<String> loader, CompletableFuture<?>... dependencies
+  ) {
+    return CompletableFuture.allOf(dependencies)
+        .thenRunAsync(() -> this.timed(file, () -> loader.accept(file)));
+  }
+
+  /**
+   * Decodes all the images in the background, so most of them are ready before they are needed.
+   */
+  private void preloadImages() {
+    this.images.values().forEach(imageData -> CompletableFuture.runAsync(
+        () -> this.timed("image " + imageData.getId(), imageData::preload)
+    ));
+    this.spriteSheets.values().forEach(spriteSheetData -> CompletableFuture.runAsync(
+        () -> this.timed("spritesheet " + spriteSheetData.getId(), spriteSheetData::preload)
+    ));
+  }
+
+  /**
+   * Runs the task and adds how long it took to the load report.
+   */
+  public void timed(String name, Runnable task) {
+    long startTime = System.nanoTime();
+    task.run();
+    this.loadTimes.put(name, System.nanoTime() - startTime);
+  }
+
+  /**
+   * Describes how long each file took to load, and each image that has been decoded in the
+   * background so far took to decode.
+   */
+  public String getLoadReport() {
+    StringBuilder report = new StringBuilder();
+    synchronized (this.loadTimes) {
+      this.loadTimes.forEach((name, nanos) -> report.append(String.format(
+          "%8.2fms %s%n", (double) nanos / TimeUnit.MILLISECONDS.toNanos(1), name
+      )));
+    }
+    return report.toString();
   }
 
   private void loadAnimations(String file) {
     try {
       FileReader animationsFile = new FileReader(file);
-      AnimationData[] animationsData = new Gson().fromJson(animationsFile, AnimationData[].class);
+      AnimationData[] animationsData = this.gson.fromJson(animationsFile, AnimationData[].class);
       Arrays.stream(animationsData).forEach(ad -> {
         animations.put(ad.getId(), ad);
       });
@@ -71,7 +152,7 @@ public class DataLoader {
   private void loadSpriteSheetTypes(String file) {
     try {
       FileReader spriteSheetTypesFile = new FileReader(file);
-      SpriteSheetTypeData[] spriteSheetTypesData = new Gson().fromJson(
+      SpriteSheetTypeData[] spriteSheetTypesData = this.gson.fromJson(
           spriteSheetTypesFile,
           SpriteSheetTypeData[].class
       );
@@ -87,7 +168,7 @@ public class DataLoader {
   private void loadSpriteSheets(String file) {
     try {
       FileReader spriteSheetsFile = new FileReader(file);
-      SpriteSheetData[] spriteSheetsData = new Gson().fromJson(
+      SpriteSheetData[] spriteSheetsData = this.gson.fromJson(
           spriteSheetsFile,
           SpriteSheetData[].class
       );
@@ -103,7 +184,7 @@ public class DataLoader {
   private void loadImages(String file) {
     try {
       FileReader imagesFile = new FileReader(file);
-      ImageData[] imageData = new Gson().fromJson(imagesFile, ImageData[].class);
+      ImageData[] imageData = this.gson.fromJson(imagesFile, ImageData[].class);
       Arrays.stream(imageData).forEach(id -> {
         id.build();
         images.put(id.getId(), id);
@@ -116,7 +197,7 @@ public class DataLoader {
   private void loadAttacks(String file) {
     try {
       FileReader attacksFile = new FileReader(file);
-      AttackData[] attackData = new Gson().fromJson(attacksFile, AttackData[].class);
+      AttackData[] attackData = this.gson.fromJson(attacksFile, AttackData[].class);
       Arrays.stream(attackData).forEach(ad -> {
         ad.buildRelationships(this);
         attacks.put(ad.getId(), ad);
@@ -129,7 +210,7 @@ public class DataLoader {
   private void loadUnitTypes(String file) {
     try {
       FileReader unitTypesFile = new FileReader(file);
-      UnitData[] unitData = new Gson().fromJson(unitTypesFile, UnitData[].class);
+      UnitData[] unitData = this.gson.fromJson(unitTypesFile, UnitData[].class);
       Arrays.stream(unitData).forEach(utd -> {
         utd.buildRelationships(this);
         unitTypes.put(utd.getId(), utd);
@@ -142,7 +223,7 @@ public class DataLoader {
   private void loadAbilities(String file) {
     try {
       FileReader abilitiesFile = new FileReader(file);
-      AbilityData[] abilitiesData = new Gson().fromJson(abilitiesFile, AbilityData[].class);
+      AbilityData[] abilitiesData = this.gson.fromJson(abilitiesFile, AbilityData[].class);
       Arrays.stream(abilitiesData).forEach(ad -> {
         ad.buildRelationships(this);
         abilities.put(ad.getId(), ad);
@@ -217,6 +298,13 @@ public class DataLoader {
     return attacks.get(id);
   }
 
+  /**
+   * Gets the data Objects for every attack.
+   */
+  public Collection<AttackData> getAllAttackData() {
+    return Collections.unmodifiableCollection(attacks.values());
+  }
+
   /**
    * Gets the data Object for a type of unit.
    * @throws IllegalStateException If the unit type does not exist
@@ -231,6 +319,13 @@ public class DataLoader {
     return unitTypes.get(id);
   }
 
+  /**
+   * Gets the data Objects for every type of unit.
+   */
+  public Collection<UnitData> getAllUnitTypes() {
+    return Collections.unmodifiableCollection(unitTypes.values());
+  }
+
   /**
    * Gets the data Object for a ability.
    * @throws IllegalStateException If the ability does not exist
@@ -244,4 +339,11 @@ public class DataLoader {
     return abilities.get(id);
   }
 
+  /**
+   * Gets the data Objects for every ability.
+   */
+  public Collection<AbilityData> getAllAbilityData() {
+    return Collections.unmodifiableCollection(abilities.values());
+  }
+
 }
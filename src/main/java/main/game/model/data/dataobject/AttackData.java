@@ -17,6 +17,10 @@ public class AttackData {
   private double amount = 0;
   private double duration = 0;
   private double radius = 0;
+  private String behaviour;
+  private ProjectileData projectile;
+  private SpriteAnimationData effect;
+  private String unitType;
 
   // Forign Keys.
   private String animation;
@@ -65,4 +69,29 @@ public class AttackData {
   public double getRadius() {
     return radius;
   }
+
+  /**
+   * Gets the name of the built in behaviour of the attack, or null if the script does it.
+   */
+  public String getBehaviour() {
+    return behaviour;
+  }
+
+  public ProjectileData getProjectile() {
+    return projectile;
+  }
+
+  /**
+   * Gets the animation shown where the attack lands.
+   */
+  public SpriteAnimationData getEffect() {
+    return effect;
+  }
+
+  /**
+   * Gets the type of unit the attack makes.
+   */
+  public String getUnitType() {
+    return unitType;
+  }
 }
@@ -3,10 +3,17 @@ package main.game.model.data.dataobject;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.function.Supplier;
 import javax.imageio.ImageIO;
 
 /**
  * Data object for Image Data.
+ *
+ * <p>
+ * The image isn't read until it is first needed (or {@link #preload()} is called), so loading the
+ * data doesn't have to wait for every image to be decoded.
+ * </p>
+ *
  * @author Andrew McGhie
  */
 public class ImageData {
@@ -24,14 +31,17 @@ public class ImageData {
   private int width = 0;
   private int height = 0;
 
-  private BufferedImage image;
+  private Supplier<BufferedImage> source;
+  private volatile BufferedImage image;
 
   /**
    * Constructor so SpriteSheetData can build map of images.
+   *
+   * @param source makes the image the first time it is needed
    */
-  ImageData(BufferedImage image,
+  ImageData(Supplier<BufferedImage> source,
             double northOverflow, double southOverflow, double eastOverflow, double westOverflow) {
-    this.image = image;
+    this.source = source;
     this.northOverflow = northOverflow;
     this.southOverflow = southOverflow;
     this.eastOverflow = eastOverflow;
@@ -39,17 +49,29 @@ public class ImageData {
   }
 
   /**
-   * Reads the image from the file system and builds the images for them.
+   * Sets up the image to be read from the file system when it is first needed.
    */
   public void build() {
+    this.source = this::readImage;
+  }
+
+  /**
+   * Reads the image now if it hasn't been already.
+   */
+  public void preload() {
+    this.getImage();
+  }
+
+  private BufferedImage readImage() {
     try {
-      this.image = ImageIO.read(new File(this.location));
+      BufferedImage image = ImageIO.read(new File(this.location));
       if (this.width != 0 || this.height != 0 || this.x != 0 || this.y != 0) {
-        this.image = image.getSubimage(this.x, this.y, this.width, this.height);
+        image = image.getSubimage(this.x, this.y, this.width, this.height);
       }
+      return image;
     } catch (IOException e) {
       System.err.println("Image " + this.id + " Location " + this.location + " was not found");
-      this.image = new BufferedImage(1, 1, BufferedImage.TYPE_4BYTE_ABGR);
+      return new BufferedImage(1, 1, BufferedImage.TYPE_4BYTE_ABGR);
     }
   }
 
@@ -57,8 +79,21 @@ public class ImageData {
     return id;
   }
 
+  /**
+   * Gets the image, reading it first if this is the first time it is needed.
+   */
   public BufferedImage getImage() {
-    return this.image;
+    BufferedImage image = this.image;
+    if (image == null) {
+      synchronized (this) {
+        image = this.image;
+        if (image == null) {
+          image = this.source.get();
+          this.image = image;
+        }
+      }
+    }
+    return image;
   }
 
   public double getNorthOverflow() {
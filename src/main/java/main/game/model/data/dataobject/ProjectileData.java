@@ -0,0 +1,53 @@
+package main.game.model.data.dataobject;
+
+/**
+ * Data object for the projectile an attack fires.
+ * @author agent
+ */
+public class ProjectileData {
+
+  private double size;
+  private double speed;
+  private boolean fromCentre = false;
+  private boolean targetsGround = false;
+  private SpriteAnimationData flyAnimation;
+  private SpriteAnimationData impactAnimation;
+  private double impactSize;
+
+  public double getSize() {
+    return size;
+  }
+
+  /**
+   * How far the projectile moves each tick.
+   */
+  public double getSpeed() {
+    return speed;
+  }
+
+  /**
+   * Whether the projectile starts at the centre of the unit rather than its top left.
+   */
+  public boolean isFromCentre() {
+    return fromCentre;
+  }
+
+  /**
+   * Whether the projectile flies to the target itself rather than the first unit there.
+   */
+  public boolean isTargetsGround() {
+    return targetsGround;
+  }
+
+  public SpriteAnimationData getFlyAnimation() {
+    return flyAnimation;
+  }
+
+  public SpriteAnimationData getImpactAnimation() {
+    return impactAnimation;
+  }
+
+  public double getImpactSize() {
+    return impactSize;
+  }
+}
@@ -0,0 +1,27 @@
+package main.game.model.data.dataobject;
+
+/**
+ * Data object for an animation on a sprite sheet that an attack shows.
+ * @author agent
+ */
+public class SpriteAnimationData {
+
+  private String spriteSheet;
+  private String animation;
+  private int length;
+
+  public String getSpriteSheet() {
+    return spriteSheet;
+  }
+
+  public String getAnimation() {
+    return animation;
+  }
+
+  /**
+   * How many ticks one play of the animation takes.
+   */
+  public int getLength() {
+    return length;
+  }
+}
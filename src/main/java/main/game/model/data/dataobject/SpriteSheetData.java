@@ -21,45 +21,78 @@ public class SpriteSheetData {
 
   private SpriteSheetTypeData typeData;
   private Map<String, ImageData[][]> images = new HashMap<>();
+  private volatile BufferedImage sheetImage;
 
   /**
-   * Loads all the images an sorts them into animation and directions.
+   * Sorts the images into animation and directions. The sheet isn't read until one of the images
+   * is first needed.
    */
   public void build(DataLoader dataLoader) {
     this.typeData = dataLoader.getDataForSpriteSheetType(type);
     Collection<AnimationData> animations = typeData.getAnimations();
+    animations.forEach(animationData -> {
+      int startY = typeData.getAnimationStart(animationData.getId());
+      images.put(animationData.getId(),
+          new ImageData[animationData.getDirections()][animationData.getFrames()]);
+
+      for (int direction = 0; direction < animationData.getDirections(); direction++) {
+        for (int frame = 0; frame < animationData.getFrames(); frame++) {
+          int x = frame * animationData.getWidth();
+          int y = startY + direction * animationData.getHeight();
+          ImageData spriteImageData = new ImageData(
+              () -> this.getSpriteImage(x, y, animationData.getWidth(), animationData.getHeight()),
+              animationData.getNorthOverflow(),
+              animationData.getSouthOverflow(),
+              animationData.getEastOverflow(),
+              animationData.getWestOverflow()
+          );
+          images.get(animationData.getId())[direction][frame] = spriteImageData;
+        }
+      }
+    });
+  }
+
+  /**
+   * Reads every image in the sheet now if it hasn't been already.
+   */
+  public void preload() {
+    images.values().forEach(animationImages -> {
+      for (ImageData[] directionImages : animationImages) {
+        for (ImageData imageData : directionImages) {
+          imageData.preload();
+        }
+      }
+    });
+  }
+
+  private BufferedImage getSpriteImage(int x, int y, int width, int height) {
     try {
-      BufferedImage image = ImageIO.read(new File(this.location));
-      animations.forEach(animationData -> {
-        int startY = typeData.getAnimationStart(animationData.getId());
-        images.put(animationData.getId(),
-            new ImageData[animationData.getDirections()][animationData.getFrames()]);
-
-        for (int direction = 0; direction < animationData.getDirections(); direction++) {
-          for (int frame = 0; frame < animationData.getFrames(); frame++) {
-            int x = frame * animationData.getWidth();
-            int y = startY + direction * animationData.getHeight();
-            BufferedImage spriteImage = null;
-            try {
-              spriteImage = image
-                  .getSubimage(x, y, animationData.getWidth(), animationData.getHeight());
-            } catch (Exception e) {
-              e.printStackTrace();
-            }
-            ImageData spriteImageData = new ImageData(spriteImage,
-                animationData.getNorthOverflow(),
-                animationData.getSouthOverflow(),
-                animationData.getEastOverflow(),
-                animationData.getWestOverflow()
-            );
-            images.get(animationData.getId())[direction][frame] = spriteImageData;
+      return this.getSheetImage().getSubimage(x, y, width, height);
+    } catch (Exception e) {
+      e.printStackTrace();
+      // A placeholder so the image is only tried once, like images that can't be read
+      return new BufferedImage(1, 1, BufferedImage.TYPE_4BYTE_ABGR);
+    }
+  }
+
+  private BufferedImage getSheetImage() {
+    BufferedImage sheetImage = this.sheetImage;
+    if (sheetImage == null) {
+      synchronized (this) {
+        sheetImage = this.sheetImage;
+        if (sheetImage == null) {
+          try {
+            sheetImage = ImageIO.read(new File(this.location));
+          } catch (IOException e) {
+            System.err.println("SpriteSheet image" + this.id + " at Location " + this.location
+                + " was not found");
+            sheetImage = new BufferedImage(1, 1, BufferedImage.TYPE_4BYTE_ABGR);
           }
+          this.sheetImage = sheetImage;
         }
-      });
-    } catch (IOException e) {
-      System.err.println("SpriteSheet image" + this.id + " at Location " + this.location
-          + " was not found");
+      }
     }
+    return sheetImage;
   }
 
   public String getId() {
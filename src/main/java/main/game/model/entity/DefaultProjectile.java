@@ -1,13 +1,9 @@
 package main.game.model.entity;
 
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 import main.game.model.data.dataobject.ImageData;
 import main.game.model.entity.unit.attack.Attack;
+import main.game.model.entity.unit.attack.AttackBehaviour;
+import main.game.model.entity.unit.attack.InstantDamageBehaviour;
 import main.game.model.entity.unit.state.Targetable;
 import main.game.model.world.World;
 import main.images.Animation;
@@ -25,6 +21,9 @@ public class DefaultProjectile extends DefaultEntity implements Projectile {
 
   private static final double IMPACT_DISTANCE = 0.01;
   private static final double ANIMATION_SPEED = 0.4;
+  // TODO allow for projectiles to do other stuff than instant damaged
+  // eg pass the behaviour in.
+  private static final AttackBehaviour HIT_BEHAVIOUR = new InstantDamageBehaviour();
 
   private final Unit owner;
   private final Targetable target;
@@ -33,7 +32,6 @@ public class DefaultProjectile extends DefaultEntity implements Projectile {
   private final Animation impactAnimation;
   private final MapSize impactSize;
   private final double moveDistancePerTick;
-  private final Invocable engine;
 
   private double angle = 0;
   private boolean hasHit = false;
@@ -67,16 +65,6 @@ public class DefaultProjectile extends DefaultEntity implements Projectile {
     this.impactAnimation = impactAnimation;
     this.impactSize = impactSize;
     this.moveDistancePerTick = moveDistancePerTick;
-
-    // TODO allow for projectiles to do other stuff than instant damaged
-    // eg pass the script location in as a string.
-    ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
-    try {
-      engine.eval(new FileReader("resources/scripts/instantDamage.js"));
-    } catch (ScriptException | FileNotFoundException e) {
-      e.printStackTrace();
-    }
-    this.engine = (Invocable) engine;
   }
 
   @Override
@@ -125,11 +113,7 @@ public class DefaultProjectile extends DefaultEntity implements Projectile {
 
   @Override
   public void hitTarget(World world) {
-    try {
-      this.engine.invokeFunction("apply", this.owner, this.target, this.attack, world);
-    } catch (ScriptException | NoSuchMethodException e) {
-      e.printStackTrace();
-    }
+    HIT_BEHAVIOUR.apply(this.owner, this.target, this.attack, world);
     world.removeProjectile(this);
     AnimationEntity hitMarker = new AnimationEntity(
         this.getTopLeft(),
@@ -17,6 +17,11 @@ import main.util.Event;
  */
 public interface Unit extends Entity, Targetable {
 
+  /**
+   * No unit can be wider or taller than this.
+   */
+  double MAX_SIZE = 1;
+
   Attack getBaseAttack();
 
   /**
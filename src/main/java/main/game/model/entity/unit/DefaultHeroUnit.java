@@ -55,8 +55,13 @@ public class DefaultHeroUnit extends DefaultUnit implements HeroUnit {
       throw new ItemNotInRangeException("Item is too far away");
     }
 
-    Ability itemAbility = item.getAbility();
+    this.addItemAbility(item.getAbility());
+  }
 
+  /**
+   * Gives the hero the ability of an item, adding its uses if the hero already has it.
+   */
+  public void addItemAbility(Ability itemAbility) {
     int indexOf = itemAbilities.indexOf(itemAbility);
     // If the hero already has the ability
     if (indexOf != -1) {
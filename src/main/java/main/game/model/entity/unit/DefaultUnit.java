@@ -38,7 +38,6 @@ public class DefaultUnit extends DefaultEntity implements Unit, Targetable {
   private static final long serialVersionUID = 1L;
   private static final double LEVEL_DIVISOR = 10;
   private static final double UNIT_MAX_SPEED = 0.12;
-  private static final double UNIT_MAX_SIZE = 1;
 
   private final SpriteSheetData spriteSheet;
   private final Team team;
@@ -85,8 +84,8 @@ public class DefaultUnit extends DefaultEntity implements Unit, Targetable {
     this.level = level;
     this.originalSize = new MapSize(unitData.getSize(), unitData.getSize());
     this.setSize(
-        new MapSize(this.levelMultiplyer(this.originalSize.width, UNIT_MAX_SIZE),
-        this.levelMultiplyer(this.originalSize.height, UNIT_MAX_SIZE)));
+        new MapSize(this.levelMultiplyer(this.originalSize.width, MAX_SIZE),
+        this.levelMultiplyer(this.originalSize.height, MAX_SIZE)));
     this.team = team;
     this.health = this.levelMultiplyer(unitData.getStartingHealth());
     this.spriteSheet = unitData.getSpritesheetData();
@@ -121,8 +120,8 @@ public class DefaultUnit extends DefaultEntity implements Unit, Targetable {
    */
   public void setLevel(int level) {
     this.level = level;
-    this.setSize(new MapSize(this.levelMultiplyer(this.originalSize.width, UNIT_MAX_SIZE),
-        this.levelMultiplyer(this.originalSize.height, UNIT_MAX_SIZE)));
+    this.setSize(new MapSize(this.levelMultiplyer(this.originalSize.width, MAX_SIZE),
+        this.levelMultiplyer(this.originalSize.height, MAX_SIZE)));
   }
 
   @Override
@@ -232,6 +231,13 @@ public class DefaultUnit extends DefaultEntity implements Unit, Targetable {
     return health;
   }
 
+  /**
+   * Sets the health without any events. Used when loading a saved game.
+   */
+  public void setHealth(double health) {
+    this.health = Math.min(health, this.getMaxHealth());
+  }
+
   public double getMaxHealth() {
     return this.levelMultiplyer(this.unitData.getStartingHealth());
   }
@@ -259,6 +265,10 @@ public class DefaultUnit extends DefaultEntity implements Unit, Targetable {
     }
   }
 
+  public List<Effect> getActiveEffects() {
+    return Collections.unmodifiableList(activeEffects);
+  }
+
   private void tickEffects(long timeSinceLastTick) {
     for (Iterator<Effect> iterator = activeEffects.iterator(); iterator.hasNext(); ) {
       Effect effect = iterator.next();
@@ -386,7 +396,7 @@ public class DefaultUnit extends DefaultEntity implements Unit, Targetable {
     if (radius == 0) {
       return Collections.singletonList(this);
     } else {
-      return world.getAllUnits().stream()
+      return world.getUnitsInRange(this.getLocation(), radius).stream()
           .filter(unit -> unit.getCentre().distanceTo(this.getLocation()) < radius)
           .collect(Collectors.toList());
     }
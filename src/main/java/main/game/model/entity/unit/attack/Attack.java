@@ -1,17 +1,8 @@
 package main.game.model.entity.unit.attack;
 
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 import main.game.model.data.DataLoader;
 import main.game.model.data.dataobject.AnimationData;
 import main.game.model.data.dataobject.AttackData;
@@ -33,39 +24,22 @@ public class Attack implements Serializable {
 
   private final AttackData data;
 
-  private transient Invocable engine;
-
-  // Save the data loader only so it can be loaded back into the script engine on deserialization.
+  // Needed to build the behaviour when it is first used.
   private final DataLoader dataLoader;
 
+  private transient AttackBehaviour behaviour;
+
   public Attack(AttackData data, DataLoader dataLoader) {
     this.attackType = AttackType.valueOf(data.getType());
     this.dataLoader = dataLoader;
     this.data = data;
-
-    ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
-    try {
-      engine.eval(new FileReader(this.data.getScriptLocation()));
-      engine.put("dataLoader", dataLoader);
-    } catch (ScriptException | FileNotFoundException e) {
-      e.printStackTrace();
-    }
-    this.engine = (Invocable) engine;
   }
 
-  /**
-   * Called during deserialisation.
-   */
-  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-    in.defaultReadObject();
-    ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
-    try {
-      engine.eval(new FileReader(this.data.getScriptLocation()));
-      engine.put("dataLoader", dataLoader);
-    } catch (ScriptException | FileNotFoundException e) {
-      e.printStackTrace();
+  private AttackBehaviour getBehaviour() {
+    if (this.behaviour == null) {
+      this.behaviour = AttackBehaviour.buildBehaviour(this.data, this.dataLoader);
     }
-    this.engine = (Invocable) engine;
+    return this.behaviour;
   }
 
   /**
@@ -134,11 +108,7 @@ public class Attack implements Serializable {
    * Make the enemy unit take damage.
    */
   public void execute(Unit unit, Targetable target, World world) {
-    try {
-      this.engine.invokeFunction("apply", unit, target, this, world);
-    } catch (ScriptException | NoSuchMethodException e) {
-      e.printStackTrace();
-    }
+    this.getBehaviour().apply(unit, target, this, world);
   }
 
   public double getModifiedRange(Unit unit) {
@@ -153,11 +123,7 @@ public class Attack implements Serializable {
    * Gets the Units that are effected by the attack at the target.
    */
   public Collection<Unit> getEffectedUnits(Unit owner, World world, Targetable target) {
-    try {
-      return (List<Unit>)this.engine.invokeFunction("getEffectedUnits", owner, world, target, this);
-    } catch (ScriptException | NoSuchMethodException e) {
-      throw new RuntimeException(e);
-    }
+    return this.getBehaviour().getEffectedUnits(owner, world, target, this);
   }
 
   @Override
@@ -0,0 +1,65 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.AttackData;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+
+/**
+ * What an attack does when it is used.
+ *
+ * <p>
+ * The common attacks are built into the game. Attacks that don't say which behaviour they have
+ * use the script at their script location instead.
+ * </p>
+ *
+ * @author agent
+ */
+public interface AttackBehaviour {
+
+  String INSTANT_DAMAGE = "instantDamage";
+  String PROJECTILE = "projectile";
+  String HEAL = "heal";
+  String DAMAGE_BUFF = "damageBuff";
+  String TURRET = "turret";
+  String LIGHTNING = "lightning";
+
+  /**
+   * Builds the behaviour the attack data asks for.
+   */
+  static AttackBehaviour buildBehaviour(AttackData data, DataLoader dataLoader) {
+    if (data.getBehaviour() == null) {
+      return new ScriptAttackBehaviour(data.getScriptLocation(), dataLoader);
+    }
+    switch (data.getBehaviour()) {
+      case INSTANT_DAMAGE:
+        return new InstantDamageBehaviour();
+      case PROJECTILE:
+        return new ProjectileBehaviour(data.getProjectile(), dataLoader);
+      case HEAL:
+        return new HealBehaviour(data.getEffect(), dataLoader);
+      case DAMAGE_BUFF:
+        return new DamageBuffBehaviour();
+      case TURRET:
+        return new TurretBehaviour(data.getUnitType(), dataLoader);
+      case LIGHTNING:
+        return new LightningBehaviour(data.getEffect(), dataLoader);
+      default:
+        throw new IllegalArgumentException(
+            "The behaviour " + data.getBehaviour() + " was not found. Fix the data"
+        );
+    }
+  }
+
+  /**
+   * Does the attack to the target.
+   */
+  void apply(Unit owner, Targetable target, Attack attack, World world);
+
+  /**
+   * Gets the Units that are effected by the attack at the target.
+   */
+  List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack);
+}
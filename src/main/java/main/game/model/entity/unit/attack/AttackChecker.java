@@ -0,0 +1,247 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.script.ScriptException;
+import main.game.model.GameModel;
+import main.game.model.Level;
+import main.game.model.Level.Goal;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.AbilityData;
+import main.game.model.data.dataobject.AttackData;
+import main.game.model.data.dataobject.UnitData;
+import main.game.model.entity.HeroUnit;
+import main.game.model.entity.Team;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.DefaultHeroUnit;
+import main.game.model.entity.unit.DefaultUnit;
+import main.game.model.entity.unit.state.MapPointTarget;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.entity.usable.BaseAbility;
+import main.game.model.world.DefaultWorld;
+import main.game.model.world.World;
+import main.game.model.world.pathfinder.GridPathFinder;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * Checks every attack in the data when it is loaded, so broken attacks are found before a level
+ * starts rather than the first time they are used.
+ *
+ * <p>
+ * Warming up uses every attack a few times in a small world made just for it, so the scripts are
+ * compiled and the JIT has seen the attack code before the first fight. Attacks that belong to an
+ * ability are used through the ability, which also checks its cool down and uses.
+ * </p>
+ *
+ * @author agent
+ */
+public class AttackChecker {
+
+  private static final String[] SCRIPT_FUNCTIONS = {"apply", "getEffectedUnits"};
+  private static final int WARM_UP_ROUNDS = 3;
+  private static final String WARM_UP_UNIT_TYPE = "unittype:swordsman";
+  /**
+   * Enough uses that warming up never uses an ability up.
+   */
+  private static final int WARM_UP_ABILITY_USES = 1000;
+  private static final int WARM_UP_TICKS = 10;
+  private static final MapRect WARM_UP_BOUNDS = new MapRect(
+      new MapPoint(0, 0), new MapPoint(10, 10)
+  );
+
+  private final DataLoader dataLoader;
+
+  public AttackChecker(DataLoader dataLoader) {
+    this.dataLoader = dataLoader;
+  }
+
+  /**
+   * Checks that every attack's behaviour can be built from the data, and that the scripts of the
+   * attacks without one compile and define the functions an attack needs.
+   *
+   * @throws IllegalStateException describing every attack that is broken
+   */
+  public void check() {
+    List<String> problems = new ArrayList<>();
+    for (AttackData data : this.dataLoader.getAllAttackData()) {
+      try {
+        AttackBehaviour.buildBehaviour(data, this.dataLoader);
+        if (data.getBehaviour() == null) {
+          AttackScript.get(data.getScriptLocation()).checkFunctions(SCRIPT_FUNCTIONS);
+        }
+      } catch (RuntimeException | ScriptException e) {
+        problems.add(data.getId() + ": " + e.getMessage());
+      }
+    }
+    throwIfProblems(problems);
+  }
+
+  /**
+   * Uses every attack a few times on units in a small world. Attacks that abilities use are used
+   * through the ability, so the cool down and uses are checked too.
+   *
+   * @throws IllegalStateException describing every attack that failed
+   */
+  public void warmUp() {
+    UnitData unitType = this.dataLoader.getAllUnitTypes().stream()
+        .filter(type -> type.getId().equals(WARM_UP_UNIT_TYPE))
+        .findAny()
+        .orElse(null);
+    if (unitType == null) {
+      throwIfProblems(Collections.singletonList(
+          "The unit type " + WARM_UP_UNIT_TYPE + " used to warm up attacks was not found"
+      ));
+      return;
+    }
+
+    Map<String, AbilityData> abilitiesByAttack = new HashMap<>();
+    for (AbilityData abilityData : this.dataLoader.getAllAbilityData()) {
+      abilitiesByAttack.put(abilityData.getAttackData().getId(), abilityData);
+    }
+
+    List<String> problems = new ArrayList<>();
+    for (AttackData data : this.dataLoader.getAllAttackData()) {
+      try {
+        new WarmUp(data, abilitiesByAttack.get(data.getId()), unitType).run();
+      } catch (RuntimeException | ScriptException e) {
+        problems.add(data.getId() + ": " + e.getMessage());
+      }
+    }
+    throwIfProblems(problems);
+  }
+
+  private void throwIfProblems(List<String> problems) {
+    if (!problems.isEmpty()) {
+      throw new IllegalStateException(
+          "Some attacks are broken. Fix the data\n" + String.join("\n", problems)
+      );
+    }
+  }
+
+  /**
+   * One attack being warmed up, in a world that is reused for every round.
+   */
+  private class WarmUp {
+
+    private final AttackData data;
+    private final UnitData unitType;
+    private final HeroUnit owner;
+    private final World world;
+    private final Attack attack;
+    private final BaseAbility ability;
+    private Unit ally;
+    private Unit enemy;
+
+    WarmUp(AttackData data, AbilityData abilityData, UnitData unitType) {
+      this.data = data;
+      this.unitType = unitType;
+      this.owner = new DefaultHeroUnit(
+          unitType, new MapPoint(2, 2), Collections.emptyList(), dataLoader, 0
+      );
+      this.ally = new DefaultUnit(unitType, new MapPoint(2, 4), Team.PLAYER, dataLoader);
+      this.enemy = new DefaultUnit(unitType, new MapPoint(4, 2), Team.ENEMY, dataLoader);
+      this.world = new DefaultWorld(
+          Collections.singletonList(new Level(
+              WARM_UP_BOUNDS,
+              Arrays.asList(this.ally, this.enemy),
+              Collections.emptyList(),
+              Collections.emptyList(),
+              Collections.emptyList(),
+              new Goal.AllEnemiesKilled(),
+              ""
+          )),
+          this.owner,
+          new GridPathFinder()
+      );
+
+      if (abilityData == null) {
+        this.ability = null;
+        this.attack = new Attack(data, dataLoader);
+      } else {
+        this.ability = (BaseAbility) BaseAbility.buildAbility(
+            abilityData, dataLoader, WARM_UP_ABILITY_USES
+        );
+        this.ability.setOwner(this.owner);
+        this.attack = this.ability;
+      }
+    }
+
+    void run() throws ScriptException {
+      for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+        this.replaceDeadUnits();
+        // Hurt so heals have something to do
+        this.ally.takeDamage(1, this.world, this.enemy);
+
+        for (Targetable target : Arrays.asList(
+            this.enemy, this.ally, new MapPointTarget(this.enemy.getCentre())
+        )) {
+          this.use(target);
+        }
+        // Lets any projectiles hit
+        for (int tick = 0; tick < WARM_UP_TICKS; tick++) {
+          this.world.tick(GameModel.DELAY);
+        }
+      }
+    }
+
+    private void use(Targetable target) throws ScriptException {
+      if (this.data.getBehaviour() == null) {
+        // Called directly so script errors aren't just printed
+        AttackScript script = AttackScript.get(this.data.getScriptLocation());
+        script.invokeFunction(
+            "getEffectedUnits", dataLoader, this.owner, this.world, target, this.attack
+        );
+        script.invokeFunction("apply", dataLoader, this.owner, target, this.attack, this.world);
+      } else {
+        this.attack.getEffectedUnits(this.owner, this.world, target);
+        int usesBefore = this.ability == null ? 0 : this.ability.getUses();
+        this.attack.execute(this.owner, target, this.world);
+        if (this.ability != null) {
+          this.checkUsed(usesBefore);
+        }
+      }
+    }
+
+    /**
+     * Checks that using the ability took off at most one use, and started the cool down if it did.
+     * Then waits out the cool down so the ability can be used again.
+     */
+    private void checkUsed(int usesBefore) {
+      int usesTaken = usesBefore - this.ability.getUses();
+      if (usesTaken != 0 && usesTaken != 1) {
+        throw new IllegalStateException("Using the ability took " + usesTaken + " uses");
+      }
+      if (usesTaken == 1 && this.ability.getCoolDownTicksLeft() == 0) {
+        throw new IllegalStateException("Using the ability didn't start its cool down");
+      }
+      for (int tick = 0; !this.ability.isReadyToBeUsed(); tick++) {
+        if (tick > this.ability.getCoolDownTicks()) {
+          throw new IllegalStateException("The ability's cool down never finished");
+        }
+        this.ability.usableTick(GameModel.DELAY);
+      }
+      // What the HUD shows
+      this.ability.getDescription();
+      this.ability.getCoolDownProgress();
+    }
+
+    /**
+     * Strong attacks can kill the units, so new ones are added for the next round.
+     */
+    private void replaceDeadUnits() {
+      if (this.ally.getHealth() == 0) {
+        this.ally = new DefaultUnit(this.unitType, new MapPoint(2, 4), Team.PLAYER, dataLoader);
+        this.world.addUnitEntity(this.ally);
+      }
+      if (this.enemy.getHealth() == 0) {
+        this.enemy = new DefaultUnit(this.unitType, new MapPoint(4, 2), Team.ENEMY, dataLoader);
+        this.world.addUnitEntity(this.enemy);
+      }
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package main.game.model.entity.unit.attack;
+
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import main.game.model.data.DataLoader;
+
+/**
+ * A javascript file that attacks and projectiles call functions in.
+ *
+ * <p>
+ * Each file is compiled once into its own script engine the first time it is needed, and then
+ * shared by everything that uses it. The scripts read the data loader from a global variable, so
+ * it is only set for the length of each call.
+ * </p>
+ *
+ * @author agent
+ */
+public class AttackScript {
+
+  private static final ScriptEngineManager ENGINE_MANAGER = new ScriptEngineManager();
+  private static final Map<String, AttackScript> SCRIPTS = new ConcurrentHashMap<>();
+
+  private final String location;
+  private final ScriptEngine engine;
+  private final String loadError;
+
+  private AttackScript(String location) {
+    this.location = location;
+    this.engine = ENGINE_MANAGER.getEngineByName("nashorn");
+    this.loadError = this.load();
+  }
+
+  /**
+   * Gets the script at the location, compiling it if it hasn't been used yet.
+   */
+  public static AttackScript get(String location) {
+    return SCRIPTS.computeIfAbsent(location, AttackScript::new);
+  }
+
+  /**
+   * Compiles and runs the script file.
+   *
+   * @return why the script couldn't be loaded, or null if it was
+   */
+  private String load() {
+    try (Reader reader = new FileReader(this.location)) {
+      ((Compilable) this.engine).compile(reader).eval();
+      return null;
+    } catch (ScriptException | FileNotFoundException e) {
+      e.printStackTrace();
+      return e.getMessage();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Checks that the script loaded and defines all the functions.
+   *
+   * @throws ScriptException if it didn't load or a function is missing
+   */
+  public synchronized void checkFunctions(String... names) throws ScriptException {
+    this.checkLoaded();
+    for (String name : names) {
+      if (!Boolean.TRUE.equals(this.engine.eval("typeof " + name + " === 'function'"))) {
+        throw new ScriptException(
+            "Script at " + this.location + " does not define the function " + name
+        );
+      }
+    }
+  }
+
+  private void checkLoaded() throws ScriptException {
+    if (this.loadError != null) {
+      throw new ScriptException(
+          "Script at " + this.location + " could not be loaded: " + this.loadError
+      );
+    }
+  }
+
+  /**
+   * Calls a function that the script defines.
+   *
+   * @param name the name of the function
+   * @param dataLoader given to the script as dataLoader, or null if the script doesn't need it
+   * @param args the arguments to the function
+   * @return what the function returned
+   */
+  public synchronized Object invokeFunction(String name, DataLoader dataLoader, Object... args)
+      throws ScriptException {
+    this.checkLoaded();
+    Bindings bindings = this.engine.getBindings(ScriptContext.ENGINE_SCOPE);
+    bindings.put("dataLoader", dataLoader);
+    try {
+      return ((Invocable) this.engine).invokeFunction(name, args);
+    } catch (NoSuchMethodException e) {
+      throw new ScriptException(e);
+    } finally {
+      // The scripts are kept for good, so they mustn't keep the data loader and its images alive
+      bindings.put("dataLoader", null);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.SpriteAnimationData;
+import main.game.model.data.dataobject.SpriteSheetData;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.entity.usable.Ability;
+import main.game.model.world.World;
+
+/**
+ * Superclass for the built in {@link AttackBehaviour} implementations.
+ * @author agent
+ */
+public abstract class BaseAttackBehaviour implements AttackBehaviour {
+
+  /**
+   * Gets the sprite sheet that the animation is on.
+   *
+   * @throws IllegalStateException if the sprite sheet doesn't have the animation
+   */
+  protected SpriteSheetData getSpriteSheet(SpriteAnimationData animation, DataLoader dataLoader) {
+    SpriteSheetData spriteSheet = dataLoader.getDataForSpriteSheet(animation.getSpriteSheet());
+    if (spriteSheet.getAnimation(animation.getAnimation()) == null) {
+      throw new IllegalStateException("The animation " + animation.getAnimation()
+          + " was not found on the spritesheet " + animation.getSpriteSheet());
+    }
+    return spriteSheet;
+  }
+
+  /**
+   * Starts the cool down and uses up one use if the attack is an ability.
+   */
+  protected void finishUse(Attack attack) {
+    if (attack instanceof Ability) {
+      Ability ability = (Ability) attack;
+      ability.startCoolDown();
+      ability.consume();
+    }
+  }
+
+  /**
+   * Gets the units around the target that the owner can attack.
+   */
+  protected List<Unit> getEnemies(Unit owner, World world, Targetable target, Attack attack) {
+    return target.getEffectedUnits(world, attack.getRadius())
+        .stream()
+        .filter(unit -> owner.getTeam().canAttack(unit.getTeam()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Gets the units around the target that the owner can't attack.
+   */
+  protected List<Unit> getAllies(Unit owner, World world, Targetable target, Attack attack) {
+    return target.getEffectedUnits(world, attack.getRadius())
+        .stream()
+        .filter(unit -> !owner.getTeam().canAttack(unit.getTeam()))
+        .collect(Collectors.toList());
+  }
+}
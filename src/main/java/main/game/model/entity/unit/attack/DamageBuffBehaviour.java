@@ -0,0 +1,30 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.entity.usable.DamageBuffEffect;
+import main.game.model.world.World;
+
+/**
+ * Makes the first ally at the target do more damage for a while.
+ * @author agent
+ */
+public class DamageBuffBehaviour extends BaseAttackBehaviour {
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    List<Unit> effectedUnits = this.getEffectedUnits(owner, world, target, attack);
+    if (effectedUnits.isEmpty()) {
+      return;
+    }
+    Unit unit = effectedUnits.get(0);
+    unit.addEffect(new DamageBuffEffect(unit, world, attack.getDuration(), attack.getAmount()));
+    this.finishUse(attack);
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    return this.getAllies(owner, world, target, attack);
+  }
+}
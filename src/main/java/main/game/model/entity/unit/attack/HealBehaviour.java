@@ -0,0 +1,57 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.SpriteAnimationData;
+import main.game.model.data.dataobject.SpriteSheetData;
+import main.game.model.entity.AnimationEntity;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+import main.images.Animation;
+
+/**
+ * Heals the first hurt ally at the target.
+ * @author agent
+ */
+public class HealBehaviour extends BaseAttackBehaviour {
+
+  private static final double FULL_HEALTH = 0.999;
+
+  private final SpriteAnimationData effect;
+  private final SpriteSheetData effectSpriteSheet;
+
+  HealBehaviour(SpriteAnimationData effect, DataLoader dataLoader) {
+    if (effect == null) {
+      throw new IllegalArgumentException("Heal attacks need an effect. Fix the data");
+    }
+    this.effect = effect;
+    this.effectSpriteSheet = this.getSpriteSheet(effect, dataLoader);
+  }
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    List<Unit> effectedUnits = this.getEffectedUnits(owner, world, target, attack);
+    if (effectedUnits.isEmpty()) {
+      return;
+    }
+    Unit unit = effectedUnits.get(0);
+    unit.gainHealth(attack.getAmount());
+    world.addStaticEntity(new AnimationEntity(
+        unit.getTopLeft(),
+        unit.getSize(),
+        new Animation(this.effectSpriteSheet, this.effect.getAnimation(), this.effect.getLength()),
+        0
+    ));
+    this.finishUse(attack);
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    return this.getAllies(owner, world, target, attack)
+        .stream()
+        .filter(unit -> unit.getHealthPercent() < FULL_HEALTH)
+        .collect(Collectors.toList());
+  }
+}
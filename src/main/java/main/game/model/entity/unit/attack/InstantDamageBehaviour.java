@@ -0,0 +1,28 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+
+/**
+ * Damages every enemy around the target straight away.
+ * @author agent
+ */
+public class InstantDamageBehaviour extends BaseAttackBehaviour {
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    List<Unit> effectedUnits = this.getEffectedUnits(owner, world, target, attack);
+    if (effectedUnits.isEmpty()) {
+      return;
+    }
+    effectedUnits.forEach(unit -> unit.takeDamage(attack.getAmount(), world, owner));
+    this.finishUse(attack);
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    return this.getEnemies(owner, world, target, attack);
+  }
+}
@@ -0,0 +1,55 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.SpriteAnimationData;
+import main.game.model.data.dataobject.SpriteSheetData;
+import main.game.model.entity.AnimationEntity;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+import main.images.Animation;
+import main.util.MapSize;
+
+/**
+ * Strikes the first enemy at the target, damaging it straight away.
+ * @author agent
+ */
+public class LightningBehaviour extends BaseAttackBehaviour {
+
+  private static final MapSize EFFECT_SIZE = new MapSize(2, 2);
+  private static final double EFFECT_OFFSET = -1.5;
+
+  private final SpriteAnimationData effect;
+  private final SpriteSheetData effectSpriteSheet;
+
+  LightningBehaviour(SpriteAnimationData effect, DataLoader dataLoader) {
+    if (effect == null) {
+      throw new IllegalArgumentException("Lightning attacks need an effect. Fix the data");
+    }
+    this.effect = effect;
+    this.effectSpriteSheet = this.getSpriteSheet(effect, dataLoader);
+  }
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    List<Unit> effectedUnits = this.getEffectedUnits(owner, world, target, attack);
+    if (effectedUnits.isEmpty()) {
+      return;
+    }
+    Unit unit = effectedUnits.get(0);
+    world.addStaticEntity(new AnimationEntity(
+        unit.getLocation().translate(EFFECT_OFFSET, EFFECT_OFFSET),
+        EFFECT_SIZE,
+        new Animation(this.effectSpriteSheet, this.effect.getAnimation(), this.effect.getLength()),
+        0
+    ));
+    unit.takeDamage(attack.getAmount(), world, owner);
+    this.finishUse(attack);
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    return this.getEnemies(owner, world, target, attack);
+  }
+}
@@ -0,0 +1,73 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.ProjectileData;
+import main.game.model.data.dataobject.SpriteAnimationData;
+import main.game.model.data.dataobject.SpriteSheetData;
+import main.game.model.entity.DefaultProjectile;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+import main.images.Animation;
+import main.images.AnimationLoop;
+import main.util.MapSize;
+
+/**
+ * Fires a projectile that damages enemies when it hits.
+ * @author agent
+ */
+public class ProjectileBehaviour extends BaseAttackBehaviour {
+
+  private final ProjectileData data;
+  private final SpriteSheetData flySpriteSheet;
+  private final SpriteSheetData impactSpriteSheet;
+
+  ProjectileBehaviour(ProjectileData data, DataLoader dataLoader) {
+    if (data == null) {
+      throw new IllegalArgumentException("Projectile attacks need a projectile. Fix the data");
+    }
+    this.data = data;
+    this.flySpriteSheet = this.getSpriteSheet(data.getFlyAnimation(), dataLoader);
+    this.impactSpriteSheet = this.getSpriteSheet(data.getImpactAnimation(), dataLoader);
+  }
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    Targetable projectileTarget = target;
+    if (!this.data.isTargetsGround()) {
+      List<Unit> effectedUnits = this.getEffectedUnits(owner, world, target, attack);
+      if (effectedUnits.isEmpty()) {
+        return;
+      }
+      projectileTarget = effectedUnits.get(0);
+    }
+
+    SpriteAnimationData flyAnimation = this.data.getFlyAnimation();
+    SpriteAnimationData impactAnimation = this.data.getImpactAnimation();
+    world.addProjectile(new DefaultProjectile(
+        this.data.isFromCentre() ? owner.getCentre() : owner.getTopLeft(),
+        new MapSize(this.data.getSize(), this.data.getSize()),
+        owner,
+        projectileTarget,
+        attack,
+        new AnimationLoop(
+            this.flySpriteSheet, flyAnimation.getAnimation(), flyAnimation.getLength()
+        ),
+        new Animation(
+            this.impactSpriteSheet, impactAnimation.getAnimation(), impactAnimation.getLength()
+        ),
+        new MapSize(this.data.getImpactSize(), this.data.getImpactSize()),
+        this.data.getSpeed()
+    ));
+    this.finishUse(attack);
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    if (this.data.isTargetsGround()) {
+      return target.getEffectedUnits(world, attack.getRadius());
+    }
+    return this.getEnemies(owner, world, target, attack);
+  }
+}
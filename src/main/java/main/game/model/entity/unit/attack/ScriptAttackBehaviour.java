@@ -0,0 +1,52 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import javax.script.ScriptException;
+import main.game.model.data.DataLoader;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+
+/**
+ * Calls the apply and getEffectedUnits functions of an {@link AttackScript}, for attacks that
+ * the built in behaviours can't do.
+ * @author agent
+ */
+public class ScriptAttackBehaviour implements AttackBehaviour {
+
+  private final String scriptLocation;
+  private final DataLoader dataLoader;
+
+  ScriptAttackBehaviour(String scriptLocation, DataLoader dataLoader) {
+    if (scriptLocation == null) {
+      throw new IllegalArgumentException(
+          "Attacks need a behaviour or a script location. Fix the data"
+      );
+    }
+    this.scriptLocation = scriptLocation;
+    this.dataLoader = dataLoader;
+  }
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    try {
+      AttackScript.get(this.scriptLocation)
+          .invokeFunction("apply", this.dataLoader, owner, target, attack, world);
+    } catch (ScriptException e) {
+      e.printStackTrace();
+    }
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    try {
+      // Scripts can return anything, the getEffectedUnits function returns a list of units
+      @SuppressWarnings("unchecked")
+      List<Unit> effectedUnits = (List<Unit>) AttackScript.get(this.scriptLocation)
+          .invokeFunction("getEffectedUnits", this.dataLoader, owner, world, target, attack);
+      return effectedUnits;
+    } catch (ScriptException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
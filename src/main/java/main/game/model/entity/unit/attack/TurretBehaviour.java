@@ -0,0 +1,41 @@
+package main.game.model.entity.unit.attack;
+
+import java.util.List;
+import main.game.model.data.DataLoader;
+import main.game.model.data.dataobject.UnitData;
+import main.game.model.entity.Team;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.DefaultUnit;
+import main.game.model.entity.unit.state.Targetable;
+import main.game.model.world.World;
+
+/**
+ * Puts a new unit on the player's team at the target.
+ * @author agent
+ */
+public class TurretBehaviour extends BaseAttackBehaviour {
+
+  private final UnitData unitData;
+  private final DataLoader dataLoader;
+
+  TurretBehaviour(String unitType, DataLoader dataLoader) {
+    this.unitData = dataLoader.getDataForUnitType(unitType);
+    this.dataLoader = dataLoader;
+  }
+
+  @Override
+  public void apply(Unit owner, Targetable target, Attack attack, World world) {
+    world.addUnitEntity(new DefaultUnit(
+        this.unitData,
+        target.getLocation(),
+        Team.PLAYER,
+        this.dataLoader
+    ));
+    this.finishUse(attack);
+  }
+
+  @Override
+  public List<Unit> getEffectedUnits(Unit owner, World world, Targetable target, Attack attack) {
+    return target.getEffectedUnits(world, attack.getRadius());
+  }
+}
@@ -26,13 +26,11 @@ public class Idle extends UnitState {
     super.tick(timeSinceLastTick, world);
 
     double autoAttackDistance = unit.getAutoAttackDistance();
-    Unit enemyOrNull = world.getAllUnits()
+    Unit enemyOrNull = world.getUnitsInRange(unit.getCentre(), autoAttackDistance)
         .stream()
         .filter(worldUnit -> unit.getTeam().canAttack(worldUnit.getTeam()))
-        .filter(enemyUnit -> distanceToUnit(enemyUnit) <= autoAttackDistance)
         .filter(enemyUnit -> enemyUnit.getHealth() > 0)
-        .sorted(Comparator.comparingDouble(this::distanceToUnit))
-        .findFirst()
+        .min(Comparator.comparingDouble(this::distanceToUnit))
         .orElse(null);
     if (enemyOrNull != null) {
       // Assume that walking state will switch to attacking state if unit is close enough.
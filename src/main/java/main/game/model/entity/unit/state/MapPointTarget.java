@@ -21,7 +21,8 @@ public class MapPointTarget implements Targetable {
 
   @Override
   public List<Unit> getEffectedUnits(World world, double radius) {
-    return world.getAllUnits().stream()
+    // Wider units are effected from further away, so search far enough to catch the widest
+    return world.getUnitsInRange(this.mapPoint, radius + Unit.MAX_SIZE).stream()
         .filter(u -> u.getCentre().distanceTo(this.mapPoint) - u.getSize().width < radius)
         .collect(Collectors.toList());
   }
@@ -1,8 +1,9 @@
 package main.game.model.entity.unit.state;
 
 import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Queue;
 import main.game.model.entity.Unit;
 import main.game.model.world.World;
 import main.images.Animation;
@@ -19,12 +20,25 @@ public class Moving extends UnitState {
   private static final long serialVersionUID = 1L;
   private static final double LEEWAY_FOR_PATH = 0.1;
 
+  /**
+   * How far the destination can drift from where the path was last searched to before the path is
+   * searched again instead of having its end moved.
+   */
+  private static final double MAX_DRIFT_FOR_REPAIR = 1;
+
+  /**
+   * The most times the end of a path is moved before searching again anyway.
+   */
+  private static final int MAX_REPAIRS = 20;
+
   private final Target target;
   private final UnitState nextState;
   private double direction;
 
   private MapPoint lastKnownDestination;
-  private Queue<MapPoint> path;
+  private MapPoint lastSearchedDestination;
+  private int repairsSinceSearch;
+  private Deque<MapPoint> path;
 
   public Moving(Unit unit, Target target, UnitState nextState) {
     super(
@@ -111,7 +125,9 @@ public class Moving extends UnitState {
   }
 
   /**
-   * Updates path if target destination changed or no path was calculated yet.
+   * Updates path if target destination changed or no path was calculated yet. When the destination
+   * has only drifted a little (e.g. a unit being chased) the end of the current path is moved
+   * instead of searching again.
    */
   private void updatePath(World world) {
     MapPoint destination = target.getDestination();
@@ -119,8 +135,42 @@ public class Moving extends UnitState {
       return;
     }
 
+    if (canRepairPath(world, destination)) {
+      path.pollLast();
+      path.addLast(destination);
+      lastKnownDestination = destination;
+      repairsSinceSearch++;
+      return;
+    }
+
     List<MapPoint> pathList = world.findPath(unit.getCentre(), destination);
     path = new ArrayDeque<>(pathList);
     lastKnownDestination = destination;
+    lastSearchedDestination = destination;
+    repairsSinceSearch = 0;
+  }
+
+  /**
+   * Checks if the end of the path can be moved to the destination. Only paths that got all the way
+   * to the old destination are repaired, and only while the destination is still close to where
+   * it was searched for and it can be walked to in a straight line from the point before the end.
+   */
+  private boolean canRepairPath(World world, MapPoint destination) {
+    if (path == null || path.isEmpty() || lastSearchedDestination == null) {
+      return false;
+    }
+    if (repairsSinceSearch >= MAX_REPAIRS
+        || destination.distanceTo(lastSearchedDestination) > MAX_DRIFT_FOR_REPAIR
+        || !path.peekLast().equals(lastKnownDestination)) {
+      return false;
+    }
+
+    MapPoint beforeEnd = unit.getCentre();
+    if (path.size() > 1) {
+      Iterator<MapPoint> fromEnd = path.descendingIterator();
+      fromEnd.next();
+      beforeEnd = fromEnd.next();
+    }
+    return world.isLinePassable(beforeEnd, destination);
   }
 }
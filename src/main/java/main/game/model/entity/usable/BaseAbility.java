@@ -19,6 +19,7 @@ public abstract class BaseAbility extends Attack implements Ability {
   public static final String TARGETS_GROUND = "ground";
   public static final int INFINITE_USES = -1;
 
+  private final String abilityId;
   private final ImageData iconImage;
 
   protected final double coolDownSeconds;
@@ -55,6 +56,7 @@ public abstract class BaseAbility extends Attack implements Ability {
       int uses
   ) {
     super(abilityData.getAttackData(), dataLoader);
+    this.abilityId = abilityData.getId();
     this.description = abilityData.getDescription();
     this.iconImage = abilityData.getIcon();
     this.coolDownSeconds = abilityData.getCooldown();
@@ -66,6 +68,13 @@ public abstract class BaseAbility extends Attack implements Ability {
     this.uses = uses;
   }
 
+  /**
+   * Gets the id of the {@link AbilityData} this was built from.
+   */
+  public String getAbilityId() {
+    return abilityId;
+  }
+
   @Override
   public void setOwner(HeroUnit unit) {
     this.owner = unit;
@@ -101,6 +110,14 @@ public abstract class BaseAbility extends Attack implements Ability {
     return coolDownTimer.getMaxTicks();
   }
 
+  public int getCoolDownTicksLeft() {
+    return coolDownTimer.getTicksLeft();
+  }
+
+  public void setCoolDownTicksLeft(int ticksLeft) {
+    coolDownTimer.setTicksLeft(ticksLeft);
+  }
+
   @Override
   public boolean isSelected() {
     return this.selected;
@@ -52,6 +52,21 @@ public abstract class BaseEffect implements Effect {
     expiryTimer.tick(timeSinceLastTick);
   }
 
+  public int getTicksLeft() {
+    return expiryTimer.getTicksLeft();
+  }
+
+  /**
+   * Changes how long a started effect has left. Used when loading a saved game.
+   */
+  public void setTicksLeft(int ticksLeft) {
+    if (!hasStarted) {
+      throw new IllegalStateException();
+    }
+
+    expiryTimer.setTicksLeft(ticksLeft);
+  }
+
   @Override
   public boolean isTargetUnit(Unit unit) {
     return unit == this.targetUnit;
@@ -21,6 +21,10 @@ public class DamageBuffEffect extends BaseEffect {
     this.amount = amount;
   }
 
+  public double getAmount() {
+    return amount;
+  }
+
   @Override
   public double alterDamageModifier(double currentDamageModifier) {
     return super.alterDamageModifier(currentDamageModifier) + amount;
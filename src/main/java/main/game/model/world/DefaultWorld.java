@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -17,13 +16,14 @@ import main.game.model.entity.HeroUnit;
 import main.game.model.entity.MapEntity;
 import main.game.model.entity.Projectile;
 import main.game.model.entity.StaticEntity;
+import main.game.model.entity.Team;
 import main.game.model.entity.Unit;
 import main.game.model.entity.unit.DefaultUnit;
 import main.game.model.entity.usable.Item;
 import main.game.model.world.pathfinder.PathFinder;
+import main.game.model.world.pathfinder.StraightLine;
 import main.util.MapPoint;
 import main.util.MapRect;
-import main.util.MapSize;
 
 /**
  * Implementation of the World API.
@@ -35,6 +35,7 @@ public class DefaultWorld implements Serializable, World {
 
   private static final long serialVersionUID = 1L;
   private static final double UNIT_REPEL_MULTIPLIER = 25; // bigger is smaller repel
+  private static final double UNIT_INDEX_CELL_SIZE = 2;
 
   private final List<Level> levels;
   private final HeroUnit heroUnit;
@@ -45,6 +46,25 @@ public class DefaultWorld implements Serializable, World {
   private final Set<Projectile> projectiles;
   private final Set<StaticEntity> staticEntities;
   private final PathFinder pathFinder;
+  private final SpatialHashGrid<Unit> unitIndex;
+  private final UnitSeparationSolver separationSolver;
+
+  /**
+   * Lazily built from the map entities. Not saved since it can be rebuilt.
+   */
+  private transient PassabilityGrid passabilityGrid;
+
+  /**
+   * Changes whenever map entities are added or removed so cached paths are not reused.
+   */
+  private transient int passabilityVersion;
+  private transient PathCache pathCache;
+
+  /**
+   * What the player's units can see on the current level. Not saved, so the fog of war over places
+   * that were explored before saving comes back after loading.
+   */
+  private transient VisibilityGrid visibilityGrid;
 
   /** The entities that were recently added to the world. */
   private Set<Entity> recentlyAddedEntities = new HashSet<>();
@@ -72,8 +92,12 @@ public class DefaultWorld implements Serializable, World {
     this.projectiles = newConcurrentSet();
     this.pathFinder = pathfinder;
     staticEntities = newConcurrentSet();
+    this.unitIndex = new SpatialHashGrid<>(UNIT_INDEX_CELL_SIZE, Unit.MAX_SIZE);
+    this.unitIndex.add(heroUnit);
+    this.separationSolver = new UnitSeparationSolver(UNIT_REPEL_MULTIPLIER);
 
     this.addAllEntity(currentLevel().getUnits(), this.units);
+    currentLevel().getUnits().forEach(unitIndex::add);
     this.addAllEntity(currentLevel().getItems(), this.items);
     this.addAllEntity(currentLevel().getMapEntities(), this.mapEntities);
   }
@@ -145,7 +169,12 @@ public class DefaultWorld implements Serializable, World {
   }
 
   public void addUnit(Unit unit) {
-    this.addEntity(unit, this.units);
+    this.addUnitEntity(unit);
+  }
+
+  @Override
+  public Collection<Unit> getUnitsInRange(MapPoint centre, double radius) {
+    return Collections.unmodifiableList(unitIndex.getWithinRadius(centre, radius));
   }
 
   /**
@@ -186,6 +215,10 @@ public class DefaultWorld implements Serializable, World {
     this.removeEntity(projectile, this.projectiles);
   }
 
+  public Collection<Item> getItems() {
+    return Collections.unmodifiableCollection(items);
+  }
+
   @Override
   public Collection<Projectile> getProjectiles() {
     return Collections.unmodifiableCollection(projectiles);
@@ -207,23 +240,53 @@ public class DefaultWorld implements Serializable, World {
 
   public void addUnitEntity(Unit unit) {
     this.addEntity(unit, units);
+    this.unitIndex.add(unit);
   }
 
   public void removeUnitEntity(Unit unit) {
+    this.unitIndex.remove(unit);
     this.removeEntity(unit, units);
   }
 
   @Override
   public boolean isPassable(MapPoint point) {
-    if (!currentLevel().getBounds().contains(point)) {
-      return false;
+    return getPassabilityGrid().isPassable(point);
+  }
+
+  @Override
+  public boolean isLinePassable(MapPoint from, MapPoint to) {
+    return StraightLine.isPassable(getPassabilityGrid()::isPassable, from, to);
+  }
+
+  /**
+   * Gets the passability grid for the current level, building it if the level has changed size or
+   * it has not been built yet.
+   */
+  private PassabilityGrid getPassabilityGrid() {
+    MapRect bounds = currentLevel().getBounds();
+    if (passabilityGrid == null || !passabilityGrid.getBounds().equals(bounds)) {
+      PassabilityGrid grid = new PassabilityGrid(bounds);
+      mapEntities.forEach(grid::add);
+      passabilityGrid = grid;
+      passabilityVersion++;
     }
-    for (MapEntity mapEntity : mapEntities) {
-      if (!mapEntity.isPassable() && mapEntity.contains(point)) {
-        return false;
-      }
+    return passabilityGrid;
+  }
+
+  private void addMapEntities(Collection<MapEntity> entitiesToAdd) {
+    this.addAllEntity(entitiesToAdd, this.mapEntities);
+    passabilityVersion++;
+    if (passabilityGrid != null) {
+      entitiesToAdd.forEach(passabilityGrid::add);
+    }
+  }
+
+  private void removeMapEntities(Collection<MapEntity> entitiesToRemove) {
+    this.removeAllEntity(entitiesToRemove, this.mapEntities);
+    passabilityVersion++;
+    if (passabilityGrid != null) {
+      entitiesToRemove.forEach(passabilityGrid::remove);
     }
-    return true;
   }
 
   /**
@@ -246,13 +309,21 @@ public class DefaultWorld implements Serializable, World {
     if (levels.size() == 1) {
       return;
     }
-    this.removeAllEntity(currentLevel().getBorderEntities(), this.mapEntities);
+    this.removeMapEntities(currentLevel().getBorderEntities());
     levels.remove(0);
 
     this.addAllEntity(currentLevel().getItems(), this.items);
-    this.addAllEntity(currentLevel().getMapEntities(), this.mapEntities);
-    this.addAllEntity(currentLevel().getBorderEntities(), this.mapEntities);
+    this.addMapEntities(currentLevel().getMapEntities());
+    this.addMapEntities(currentLevel().getBorderEntities());
     this.addAllEntity(currentLevel().getUnits(), this.units);
+    currentLevel().getUnits().forEach(unitIndex::add);
+  }
+
+  /**
+   * Gets the number of levels that haven't been finished, including the current one.
+   */
+  public int getLevelsLeft() {
+    return levels.size();
   }
 
   @Override
@@ -262,41 +333,45 @@ public class DefaultWorld implements Serializable, World {
 
   @Override
   public void tick(long timeSinceLastTick) {
-    getAllEntities().forEach(e -> e.tick(timeSinceLastTick, this));
+    for (Entity entity : getAllEntities()) {
+      entity.tick(timeSinceLastTick, this);
+      // Units only move during their own tick so keep the index exact for the next unit's queries
+      if (entity instanceof Unit) {
+        unitIndex.update((Unit) entity);
+      }
+    }
     this.repelUnits();
     checkLevelCompletion();
+    this.updateVisibility();
   }
 
-  private void repelUnits() {
-    HashMap<Unit, MapSize> unitMovements = new HashMap<>();
-
-    getAllUnits().forEach(baseUnit -> getAllUnits()
-        .stream()
-        .filter(otherUnit -> otherUnit != baseUnit)
-        .filter(otherUnit -> otherUnit.getTeam() == baseUnit.getTeam())
-        .forEach(otherUnit -> {
-          if (baseUnit == otherUnit) {
-            return;
-          }
-          double distance = baseUnit.getCentre().distanceTo(otherUnit.getCentre());
-          double minDistance = baseUnit.getSize().width / 2 + otherUnit.getSize().width / 2;
-          if (distance < minDistance) {
-            double angle = baseUnit.getCentre().angleTo(otherUnit.getCentre()) + (Math.PI) / 2;
-            double dx = (1 / (UNIT_REPEL_MULTIPLIER * distance)) * Math.sin(angle);
-            double dy = (1 / (UNIT_REPEL_MULTIPLIER * distance)) * Math.cos(angle);
-            unitMovements.computeIfAbsent(baseUnit,
-                unit -> unitMovements.put(unit, new MapSize(0, 0)));
-            MapSize currentMovement = unitMovements.get(baseUnit);
-            MapSize newMovement = new MapSize(currentMovement.width - dx,
-                currentMovement.height - dy);
-            unitMovements.put(baseUnit, newMovement);
-          }
-        }));
+  @Override
+  public VisibilityGrid getVisibilityGrid() {
+    MapRect bounds = currentLevel().getBounds();
+    if (visibilityGrid == null || !visibilityGrid.getBounds().equals(bounds)) {
+      // New level, so nothing has been explored yet
+      visibilityGrid = new VisibilityGrid(bounds);
+    }
+    return visibilityGrid;
+  }
 
-    unitMovements.keySet().forEach(unit -> {
-      MapSize movement = unitMovements.get(unit);
-      unit.slidePosition(movement.width, movement.height);
-    });
+  private void updateVisibility() {
+    VisibilityGrid grid = getVisibilityGrid();
+    grid.startUpdate();
+    for (Unit unit : getAllUnits()) {
+      if (unit.getTeam() == Team.PLAYER) {
+        // The same size on screen as the line of sight oval the fog of war used to be cleared with
+        grid.reveal(unit, unit.getCentre(), unit.getLineOfSight() / Math.sqrt(2));
+      }
+    }
+    grid.endUpdate();
+  }
+
+  private void repelUnits() {
+    separationSolver.clear();
+    units.forEach(separationSolver::add);
+    separationSolver.add(heroUnit);
+    separationSolver.solve(unitIndex::update);
   }
 
   @Override
@@ -309,7 +384,14 @@ public class DefaultWorld implements Serializable, World {
 
   @Override
   public List<MapPoint> findPath(MapPoint start, MapPoint end) {
-    return pathFinder.findPath(this::isPassable, start, end);
+    if (pathCache == null) {
+      pathCache = new PathCache(pathFinder);
+    }
+    // Get the grid first as building it changes the version
+    PassabilityGrid grid = getPassabilityGrid();
+    return pathCache.findPath(
+        grid::isPassable, currentLevel().getBounds(), passabilityVersion, start, end
+    );
   }
 
   /**
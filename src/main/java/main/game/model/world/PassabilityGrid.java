@@ -0,0 +1,181 @@
+package main.game.model.world;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+import main.game.model.entity.MapEntity;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * A rasterised version of the impassable {@link MapEntity}s in a level so that checking if a point
+ * is passable doesn't have to look at every map entity.
+ *
+ * <p>
+ * The level is split into cells a fraction of a tile wide. A cell that is completely covered by an
+ * impassable entity is blocked, so checking a point in it is a single bit lookup. Cells on the edge
+ * of an entity are only partly covered, so points in those cells are checked against the few
+ * entities touching that cell. Map entities are assumed to be solid rectangles (their
+ * {@link MapEntity#getRect()}).
+ * </p>
+ *
+ * @author agent
+ */
+public class PassabilityGrid {
+
+  private static final int CELLS_PER_TILE = 4;
+
+  /**
+   * Cells only count as covered with this much to spare, so rounding when working out which cell a
+   * point is in can never put it in a blocked cell that the entity doesn't actually contain.
+   */
+  private static final double COVER_MARGIN = 1e-9;
+
+  private final MapRect bounds;
+  private final int columns;
+  private final int rows;
+
+  /**
+   * Cells completely covered by an impassable entity.
+   */
+  private final BitSet blocked;
+
+  /**
+   * The impassable entities touching each cell, null if there are none.
+   */
+  private final List<List<MapEntity>> cellEntities;
+
+  /**
+   * Creates an empty grid (where everything inside the bounds is passable).
+   *
+   * @param bounds the bounds of the level. Everything outside it is impassable.
+   */
+  public PassabilityGrid(MapRect bounds) {
+    this.bounds = bounds;
+    this.columns = (int) Math.ceil(bounds.getWidth() * CELLS_PER_TILE) + 1;
+    this.rows = (int) Math.ceil(bounds.getHeight() * CELLS_PER_TILE) + 1;
+    this.blocked = new BitSet(columns * rows);
+    this.cellEntities = new ArrayList<>(Collections.nCopies(columns * rows, null));
+  }
+
+  public MapRect getBounds() {
+    return bounds;
+  }
+
+  /**
+   * Marks the cells under the entity as impassable. Passable entities are ignored.
+   */
+  public void add(MapEntity mapEntity) {
+    if (mapEntity.isPassable()) {
+      return;
+    }
+    MapRect rect = mapEntity.getRect();
+    forEachCellTouching(rect, cell -> {
+      List<MapEntity> entities = cellEntities.get(cell);
+      if (entities == null) {
+        entities = new ArrayList<>(1);
+        cellEntities.set(cell, entities);
+      }
+      entities.add(mapEntity);
+      if (covers(rect, cell)) {
+        blocked.set(cell);
+      }
+    });
+  }
+
+  /**
+   * Makes the cells under the entity passable again unless another entity covers them.
+   */
+  public void remove(MapEntity mapEntity) {
+    if (mapEntity.isPassable()) {
+      return;
+    }
+    forEachCellTouching(mapEntity.getRect(), cell -> {
+      List<MapEntity> entities = cellEntities.get(cell);
+      if (entities == null || !entities.remove(mapEntity)) {
+        return;
+      }
+      blocked.clear(cell);
+      if (entities.isEmpty()) {
+        cellEntities.set(cell, null);
+        return;
+      }
+      for (MapEntity other : entities) {
+        if (covers(other.getRect(), cell)) {
+          blocked.set(cell);
+          break;
+        }
+      }
+    });
+  }
+
+  /**
+   * See {@link World#isPassable(MapPoint)}.
+   */
+  public boolean isPassable(MapPoint point) {
+    return isPassable(point.x, point.y);
+  }
+
+  /**
+   * See {@link World#isPassable(MapPoint)}.
+   */
+  public boolean isPassable(double x, double y) {
+    if (!bounds.contains(x, y)) {
+      return false;
+    }
+    int cell = cellIndex(column(x), row(y));
+    if (blocked.get(cell)) {
+      return false;
+    }
+    List<MapEntity> entities = cellEntities.get(cell);
+    if (entities == null) {
+      return true;
+    }
+    MapPoint point = new MapPoint(x, y);
+    for (MapEntity mapEntity : entities) {
+      if (mapEntity.contains(point)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean covers(MapRect rect, int cell) {
+    double cellX = bounds.x() + (double) (cell % columns) / CELLS_PER_TILE;
+    double cellY = bounds.y() + (double) (cell / columns) / CELLS_PER_TILE;
+    return rect.topLeft.x <= cellX - COVER_MARGIN
+        && rect.topLeft.y <= cellY - COVER_MARGIN
+        && rect.bottomRight.x >= cellX + 1.0 / CELLS_PER_TILE + COVER_MARGIN
+        && rect.bottomRight.y >= cellY + 1.0 / CELLS_PER_TILE + COVER_MARGIN;
+  }
+
+  private void forEachCellTouching(MapRect rect, IntConsumer consumer) {
+    if (rect.bottomRight.x < bounds.x() || rect.bottomRight.y < bounds.y()
+        || rect.topLeft.x > bounds.bottomRight.x || rect.topLeft.y > bounds.bottomRight.y) {
+      return;
+    }
+    int minColumn = column(Math.max(rect.topLeft.x, bounds.x()));
+    int maxColumn = column(Math.min(rect.bottomRight.x, bounds.bottomRight.x));
+    int minRow = row(Math.max(rect.topLeft.y, bounds.y()));
+    int maxRow = row(Math.min(rect.bottomRight.y, bounds.bottomRight.y));
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        consumer.accept(cellIndex(column, row));
+      }
+    }
+  }
+
+  private int column(double x) {
+    return Math.min(columns - 1, (int) ((x - bounds.x()) * CELLS_PER_TILE));
+  }
+
+  private int row(double y) {
+    return Math.min(rows - 1, (int) ((y - bounds.y()) * CELLS_PER_TILE));
+  }
+
+  private int cellIndex(int column, int row) {
+    return row * columns + column;
+  }
+}
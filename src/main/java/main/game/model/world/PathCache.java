@@ -0,0 +1,202 @@
+package main.game.model.world;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import main.game.model.world.pathfinder.FlowField;
+import main.game.model.world.pathfinder.HierarchicalPathFinder;
+import main.game.model.world.pathfinder.PathFinder;
+import main.game.model.world.pathfinder.StraightLine;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * Shares path finding work between units going to the same place.
+ *
+ * <p>
+ * Recently found paths are remembered by the tile they start in and the tile they end in, so a unit
+ * starting near where another unit started gets the same path without a search, as long as it can
+ * walk in a straight line to the first point of that path. When a destination
+ * is asked for more than once (e.g. a group of selected units being told to move) a
+ * {@link FlowField} is built for it, and every other unit going there follows the field instead of
+ * searching.
+ * </p>
+ *
+ * <p>
+ * Paths longer than a couple of sectors are found with a {@link HierarchicalPathFinder} so they
+ * get all the way to the end instead of stopping at the path finder's search limit. If it can't
+ * find a whole path the normal path finder is used so units still get as close as they can.
+ * </p>
+ *
+ * <p>
+ * Everything is forgotten when the passability version changes, so paths are never found through
+ * map entities that have been added since.
+ * </p>
+ *
+ * @author agent
+ */
+public class PathCache {
+
+  private static final int MAX_PATHS = 64;
+  private static final int MAX_FLOW_FIELDS = 8;
+  private static final int MAX_RECENT_DESTINATIONS = 16;
+
+  /**
+   * Paths at least this long (in a straight line) are found with the hierarchical path finder.
+   */
+  private static final double LONG_PATH_DISTANCE = HierarchicalPathFinder.SECTOR_SIZE * 2;
+
+  private final PathFinder pathFinder;
+  private final Map<PathKey, List<MapPoint>> paths = new LruMap<>(MAX_PATHS);
+  private final Map<MapPoint, FlowField> flowFields = new LruMap<>(MAX_FLOW_FIELDS);
+  private final Map<MapPoint, Boolean> recentDestinations = new LruMap<>(MAX_RECENT_DESTINATIONS);
+
+  private HierarchicalPathFinder hierarchicalPathFinder;
+  private int passabilityVersion;
+
+  public PathCache(PathFinder pathFinder) {
+    this.pathFinder = pathFinder;
+  }
+
+  /**
+   * Finds a path from the start to the end, reusing earlier work where possible.
+   *
+   * @param isPassable a function that determines whether a given point is passable or not
+   * @param area the area paths can go in (the level bounds)
+   * @param passabilityVersion changes whenever anything that affects isPassable changes
+   * @param start the start point of the path
+   * @param end the end/goal point of the path
+   * @return the points along the path, not including the start.
+   */
+  public synchronized List<MapPoint> findPath(
+      Function<MapPoint, Boolean> isPassable,
+      MapRect area,
+      int passabilityVersion,
+      MapPoint start,
+      MapPoint end
+  ) {
+    if (passabilityVersion != this.passabilityVersion) {
+      clear();
+      this.passabilityVersion = passabilityVersion;
+    }
+
+    FlowField flowField = flowFields.get(end);
+    if (flowField == null && recentDestinations.containsKey(end)) {
+      flowField = new FlowField(isPassable, end, area);
+      flowFields.put(end, flowField);
+    }
+    recentDestinations.put(end, true);
+
+    if (flowField != null && flowField.isGoalPassable()) {
+      List<MapPoint> path = flowField.findPath(isPassable, start);
+      if (path != null) {
+        return path;
+      }
+    }
+
+    PathKey key = new PathKey(start, end);
+    List<MapPoint> cached = paths.get(key);
+    // A cached path may have been found from somewhere else in the start tile, so the way to its
+    // first point hasn't been checked from here yet
+    if (cached != null
+        && (cached.isEmpty() || StraightLine.isPassable(isPassable, start, cached.get(0)))) {
+      return withEnd(cached, end);
+    }
+
+    List<MapPoint> path = null;
+    if (start.distanceTo(end) >= LONG_PATH_DISTANCE) {
+      if (hierarchicalPathFinder == null) {
+        hierarchicalPathFinder = new HierarchicalPathFinder(isPassable, area, pathFinder);
+      }
+      path = hierarchicalPathFinder.findPath(start, end);
+    }
+    if (path == null) {
+      path = new ArrayList<>(pathFinder.findPath(isPassable, start, end));
+    }
+    paths.put(key, path);
+    return new ArrayList<>(path);
+  }
+
+  /**
+   * Forgets all paths and flow fields.
+   */
+  public synchronized void clear() {
+    paths.clear();
+    flowFields.clear();
+    recentDestinations.clear();
+    hierarchicalPathFinder = null;
+  }
+
+  /**
+   * Copies a cached path that went to another point in the same end tile. Paths that got to their
+   * end are changed to finish at the new end instead, paths that couldn't get there are left alone.
+   */
+  private static List<MapPoint> withEnd(List<MapPoint> cached, MapPoint end) {
+    List<MapPoint> path = new ArrayList<>(cached);
+    if (!path.isEmpty() && path.get(path.size() - 1).isSimilar(end)) {
+      path.set(path.size() - 1, end);
+    }
+    return path;
+  }
+
+  /**
+   * The start and end tile of a path.
+   */
+  private static class PathKey {
+
+    private final int startX;
+    private final int startY;
+    private final int endX;
+    private final int endY;
+
+    PathKey(MapPoint start, MapPoint end) {
+      this.startX = (int) Math.floor(start.x);
+      this.startY = (int) Math.floor(start.y);
+      this.endX = (int) Math.floor(end.x);
+      this.endY = (int) Math.floor(end.y);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PathKey other = (PathKey) o;
+      return startX == other.startX
+          && startY == other.startY
+          && endX == other.endX
+          && endY == other.endY;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(startX, startY, endX, endY);
+    }
+  }
+
+  /**
+   * A map that forgets the least recently used entry once it is full.
+   */
+  private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+
+    LruMap(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > maxSize;
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package main.game.model.world;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import main.game.model.entity.Entity;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * A uniform grid that buckets entities by the cell that their centre is in, so that proximity
+ * queries only have to look at the entities near the query instead of every entity in the world.
+ *
+ * <p>
+ * The grid does not know when an entity moves, so the owner must call {@link #update(Entity)}
+ * after moving one. All methods are synchronized because the controller queries the grid from the
+ * UI thread while the model ticks.
+ * </p>
+ *
+ * @param <T> the type of entity stored.
+ * @author agent
+ */
+public class SpatialHashGrid<T extends Entity> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final double cellSize;
+  private final Map<Long, List<T>> cells = new HashMap<>();
+  private final Map<T, Long> entityCells = new HashMap<>();
+
+  /**
+   * Half the largest width/height an entity can have. Used to pad rectangle queries so that
+   * entities whose centre is just outside the rectangle, but whose bounds are not, are found.
+   */
+  private final double maxHalfExtent;
+
+  /**
+   * Creates an empty grid.
+   *
+   * @param cellSize The width and height of a cell. Should be around the usual query radius.
+   * @param maxEntitySize No entity in the grid can ever be wider or taller than this, even if it
+   *     grows after it is added.
+   */
+  public SpatialHashGrid(double cellSize, double maxEntitySize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+    }
+    this.cellSize = cellSize;
+    this.maxHalfExtent = maxEntitySize / 2;
+  }
+
+  /**
+   * Adds the entity to the grid. Does nothing if it is already in the grid.
+   */
+  public synchronized void add(T entity) {
+    if (entityCells.containsKey(entity)) {
+      return;
+    }
+    long key = keyOf(entity.getCentre());
+    cells.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+    entityCells.put(entity, key);
+  }
+
+  /**
+   * Removes the entity from the grid if it is in it.
+   */
+  public synchronized void remove(T entity) {
+    Long key = entityCells.remove(entity);
+    if (key != null) {
+      removeFromCell(key, entity);
+    }
+  }
+
+  /**
+   * Moves the entity to the correct cell for its current position. This is cheap when the entity
+   * has not left its cell.
+   */
+  public synchronized void update(T entity) {
+    Long oldKey = entityCells.get(entity);
+    if (oldKey == null) {
+      return;
+    }
+    long newKey = keyOf(entity.getCentre());
+    if (oldKey == newKey) {
+      return;
+    }
+    removeFromCell(oldKey, entity);
+    cells.computeIfAbsent(newKey, k -> new ArrayList<>()).add(entity);
+    entityCells.put(entity, newKey);
+  }
+
+  public synchronized int size() {
+    return entityCells.size();
+  }
+
+  /**
+   * Finds all the entities whose centre is within (or on) the radius of the given point.
+   */
+  public synchronized List<T> getWithinRadius(MapPoint centre, double radius) {
+    List<T> result = new ArrayList<>();
+    int minX = cellCoordinate(centre.x - radius);
+    int maxX = cellCoordinate(centre.x + radius);
+    int minY = cellCoordinate(centre.y - radius);
+    int maxY = cellCoordinate(centre.y + radius);
+
+    for (int cellX = minX; cellX <= maxX; cellX++) {
+      for (int cellY = minY; cellY <= maxY; cellY++) {
+        List<T> cell = cells.get(key(cellX, cellY));
+        if (cell == null) {
+          continue;
+        }
+        for (T entity : cell) {
+          if (entity.getCentre().distanceTo(centre) <= radius) {
+            result.add(entity);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds the entities whose bounds overlap the given rectangle.
+   */
+  public synchronized List<T> getWithinRect(MapRect rect) {
+    List<T> result = new ArrayList<>();
+    int minX = cellCoordinate(rect.topLeft.x - maxHalfExtent);
+    int maxX = cellCoordinate(rect.bottomRight.x + maxHalfExtent);
+    int minY = cellCoordinate(rect.topLeft.y - maxHalfExtent);
+    int maxY = cellCoordinate(rect.bottomRight.y + maxHalfExtent);
+
+    for (int cellX = minX; cellX <= maxX; cellX++) {
+      for (int cellY = minY; cellY <= maxY; cellY++) {
+        List<T> cell = cells.get(key(cellX, cellY));
+        if (cell == null) {
+          continue;
+        }
+        for (T entity : cell) {
+          MapRect bounds = entity.getRect();
+          if (bounds.topLeft.x <= rect.bottomRight.x
+              && bounds.bottomRight.x >= rect.topLeft.x
+              && bounds.topLeft.y <= rect.bottomRight.y
+              && bounds.bottomRight.y >= rect.topLeft.y) {
+            result.add(entity);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds up to count entities closest to the point (by centre), closest first. Searches outwards
+   * one ring of cells at a time and stops once no unvisited cell can contain anything closer.
+   */
+  public synchronized List<T> getNearest(MapPoint point, int count) {
+    if (count <= 0 || entityCells.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Comparator<T> byDistance = Comparator.comparingDouble(e -> e.getCentre().distanceTo(point));
+    List<T> candidates = new ArrayList<>();
+    int centreX = cellCoordinate(point.x);
+    int centreY = cellCoordinate(point.y);
+    int visited = 0;
+
+    for (int ring = 0; visited < entityCells.size(); ring++) {
+      for (int cellX = centreX - ring; cellX <= centreX + ring; cellX++) {
+        for (int cellY = centreY - ring; cellY <= centreY + ring; cellY++) {
+          boolean onRing = Math.abs(cellX - centreX) == ring || Math.abs(cellY - centreY) == ring;
+          List<T> cell = onRing ? cells.get(key(cellX, cellY)) : null;
+          if (cell != null) {
+            candidates.addAll(cell);
+            visited += cell.size();
+          }
+        }
+      }
+
+      if (candidates.size() >= count) {
+        candidates.sort(byDistance);
+        // Everything outside this ring is at least this far away
+        double unvisitedDistance = ring * cellSize;
+        if (candidates.get(count - 1).getCentre().distanceTo(point) <= unvisitedDistance) {
+          break;
+        }
+      }
+    }
+
+    candidates.sort(byDistance);
+    return new ArrayList<>(candidates.subList(0, Math.min(count, candidates.size())));
+  }
+
+  private void removeFromCell(long key, T entity) {
+    List<T> cell = cells.get(key);
+    if (cell == null) {
+      return;
+    }
+    cell.remove(entity);
+    if (cell.isEmpty()) {
+      cells.remove(key);
+    }
+  }
+
+  private int cellCoordinate(double value) {
+    return (int) Math.floor(value / cellSize);
+  }
+
+  private long keyOf(MapPoint point) {
+    return key(cellCoordinate(point.x), cellCoordinate(point.y));
+  }
+
+  private static long key(int cellX, int cellY) {
+    return (((long) cellX) << 32) | (cellY & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,236 @@
+package main.game.model.world;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import main.game.model.entity.Unit;
+import main.util.MapPoint;
+
+/**
+ * Pushes overlapping units on the same team away from each other.
+ *
+ * <p>
+ * Units are copied into flat arrays, bucketed into a grid of cells at least as wide as the widest
+ * unit (so overlapping units are always in the same or neighbouring cells) and each pair that
+ * overlaps is visited once. All the displacements are worked out before any unit is moved. The
+ * arrays are kept between ticks so a tick with no more units than the last does not allocate any
+ * arrays.
+ * </p>
+ *
+ * @author agent
+ */
+public class UnitSeparationSolver implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Overlapping units with centres closer than this are treated as being this far apart so the push
+   * stays finite.
+   */
+  private static final double MIN_SEPARATION = 0.05;
+
+  /**
+   * Stops the grid from getting huge when a few units are very far apart.
+   */
+  private static final int MIN_CELLS = 64;
+  private static final int CELLS_PER_UNIT = 4;
+
+  private final double repelMultiplier;
+
+  private transient int count;
+  private transient Unit[] units;
+  private transient double[] xs;
+  private transient double[] ys;
+  private transient double[] radii;
+  private transient int[] teams;
+  private transient double[] dxs;
+  private transient double[] dys;
+  private transient int[] cellOfUnit;
+  private transient int[] sortedUnits;
+  private transient int[] cellStarts;
+
+  /**
+   * Creates a solver.
+   *
+   * @param repelMultiplier How weak the push is. The push is one over this times the distance.
+   */
+  public UnitSeparationSolver(double repelMultiplier) {
+    this.repelMultiplier = repelMultiplier;
+  }
+
+  /**
+   * Forgets the units from last time. Call before adding the units for this tick.
+   */
+  public void clear() {
+    if (units != null) {
+      Arrays.fill(units, 0, count, null);
+    }
+    count = 0;
+  }
+
+  /**
+   * Adds a unit to be separated this tick.
+   */
+  public void add(Unit unit) {
+    ensureUnitCapacity(count + 1);
+    MapPoint topLeft = unit.getTopLeft();
+    double width = unit.getSize().width;
+    units[count] = unit;
+    xs[count] = topLeft.x + width / 2;
+    ys[count] = topLeft.y + unit.getSize().height / 2;
+    radii[count] = width / 2;
+    teams[count] = unit.getTeam().ordinal();
+    count++;
+  }
+
+  /**
+   * Works out how far every added unit needs to move and slides the ones that overlap.
+   *
+   * @param onMoved Called with each unit after it has been moved.
+   */
+  public void solve(Consumer<Unit> onMoved) {
+    if (count < 2) {
+      clear();
+      return;
+    }
+
+    Arrays.fill(dxs, 0, count, 0);
+    Arrays.fill(dys, 0, count, 0);
+
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    double maxRadius = 0;
+    for (int i = 0; i < count; i++) {
+      minX = Math.min(minX, xs[i]);
+      minY = Math.min(minY, ys[i]);
+      maxX = Math.max(maxX, xs[i]);
+      maxY = Math.max(maxY, ys[i]);
+      maxRadius = Math.max(maxRadius, radii[i]);
+    }
+    if (maxRadius <= 0) {
+      clear();
+      return;
+    }
+
+    // Cells must be at least as wide as the largest possible overlap distance
+    double cellSize = maxRadius * 2;
+    int columns = (int) ((maxX - minX) / cellSize) + 1;
+    int rows = (int) ((maxY - minY) / cellSize) + 1;
+    int maxCells = Math.max(MIN_CELLS, count * CELLS_PER_UNIT);
+    if ((long) columns * rows > maxCells) {
+      cellSize *= Math.sqrt((double) columns * rows / maxCells);
+      columns = (int) ((maxX - minX) / cellSize) + 1;
+      rows = (int) ((maxY - minY) / cellSize) + 1;
+    }
+
+    bucketIntoCells(minX, minY, cellSize, columns, rows);
+
+    for (int i = 0; i < count; i++) {
+      int cell = cellOfUnit[i];
+      int column = cell % columns;
+      int row = cell / columns;
+      // Only look forwards (this cell and the next row) so each pair of cells is visited once
+      for (int neighbourRow = row; neighbourRow <= row + 1 && neighbourRow < rows;
+          neighbourRow++) {
+        int fromColumn = neighbourRow == row ? column : Math.max(0, column - 1);
+        int toColumn = Math.min(columns - 1, column + 1);
+        for (int neighbourColumn = fromColumn; neighbourColumn <= toColumn; neighbourColumn++) {
+          int neighbourCell = neighbourRow * columns + neighbourColumn;
+          for (int s = cellStarts[neighbourCell]; s < cellStarts[neighbourCell + 1]; s++) {
+            int j = sortedUnits[s];
+            if (neighbourCell == cell && j <= i) {
+              continue;
+            }
+            repelPair(i, j);
+          }
+        }
+      }
+    }
+
+    for (int i = 0; i < count; i++) {
+      if (dxs[i] != 0 || dys[i] != 0) {
+        units[i].slidePosition(dxs[i], dys[i]);
+        onMoved.accept(units[i]);
+      }
+    }
+    clear();
+  }
+
+  private void repelPair(int i, int j) {
+    if (teams[i] != teams[j]) {
+      return;
+    }
+    double offsetX = xs[i] - xs[j];
+    double offsetY = ys[i] - ys[j];
+    double distanceSquared = offsetX * offsetX + offsetY * offsetY;
+    double minDistance = radii[i] + radii[j];
+    if (distanceSquared >= minDistance * minDistance) {
+      return;
+    }
+
+    double distance = Math.sqrt(distanceSquared);
+    if (distance < MIN_SEPARATION) {
+      // Push stacked units apart in a consistent direction
+      offsetX = distance == 0 ? MIN_SEPARATION : offsetX * MIN_SEPARATION / distance;
+      offsetY = distance == 0 ? 0 : offsetY * MIN_SEPARATION / distance;
+      distance = MIN_SEPARATION;
+    }
+
+    // Push each unit 1 / (multiplier * distance) directly away from the other one
+    double scale = 1 / (repelMultiplier * distance * distance);
+    dxs[i] += offsetX * scale;
+    dys[i] += offsetY * scale;
+    dxs[j] -= offsetX * scale;
+    dys[j] -= offsetY * scale;
+  }
+
+  /**
+   * Counting sort of the units by cell so the units in a cell are next to each other in
+   * sortedUnits, between cellStarts[cell] and cellStarts[cell + 1].
+   */
+  private void bucketIntoCells(double minX, double minY, double cellSize, int columns, int rows) {
+    int cells = columns * rows;
+    if (cellStarts == null || cellStarts.length < cells + 1) {
+      cellStarts = new int[Math.max(cells + 1, MIN_CELLS)];
+    }
+    Arrays.fill(cellStarts, 0, cells + 1, 0);
+
+    for (int i = 0; i < count; i++) {
+      int column = Math.min(columns - 1, (int) ((xs[i] - minX) / cellSize));
+      int row = Math.min(rows - 1, (int) ((ys[i] - minY) / cellSize));
+      int cell = row * columns + column;
+      cellOfUnit[i] = cell;
+      cellStarts[cell]++;
+    }
+    // Running totals give the end of each cell, filling backwards moves each back to its start
+    for (int cell = 1; cell < cells; cell++) {
+      cellStarts[cell] += cellStarts[cell - 1];
+    }
+    for (int i = count - 1; i >= 0; i--) {
+      sortedUnits[--cellStarts[cellOfUnit[i]]] = i;
+    }
+    cellStarts[cells] = count;
+  }
+
+  private void ensureUnitCapacity(int capacity) {
+    if (units != null && units.length >= capacity) {
+      return;
+    }
+    int newCapacity = Math.max(capacity, units == null ? 32 : units.length * 2);
+    units = units == null ? new Unit[newCapacity] : Arrays.copyOf(units, newCapacity);
+    xs = grow(xs, newCapacity);
+    ys = grow(ys, newCapacity);
+    radii = grow(radii, newCapacity);
+    dxs = grow(dxs, newCapacity);
+    dys = grow(dys, newCapacity);
+    teams = teams == null ? new int[newCapacity] : Arrays.copyOf(teams, newCapacity);
+    cellOfUnit = new int[newCapacity];
+    sortedUnits = new int[newCapacity];
+  }
+
+  private static double[] grow(double[] array, int capacity) {
+    return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+  }
+}
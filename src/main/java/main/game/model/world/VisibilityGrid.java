@@ -0,0 +1,169 @@
+package main.game.model.world;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * Which parts of a level the player can see, and which they have seen before.
+ *
+ * <p>
+ * The level is split into cells (a few per tile). Each cell counts how many viewers can see it.
+ * When a viewer moves only its old and new circles are changed, so viewers that stand still cost
+ * nothing. A cell is explored once anything has seen it.
+ * </p>
+ *
+ * <p>
+ * Only used on the game model thread.
+ * </p>
+ *
+ * @author agent
+ */
+public class VisibilityGrid {
+
+  public static final int CELLS_PER_TILE = 2;
+
+  private final MapRect bounds;
+  private final int columns;
+  private final int rows;
+  private final int[] viewerCounts;
+  private final boolean[] explored;
+  private final Map<Object, Sight> sights = new HashMap<>();
+
+  private int updateNumber = 0;
+  private int version = 0;
+
+  /**
+   * Makes a grid that covers the bounds, with nothing seen yet.
+   */
+  public VisibilityGrid(MapRect bounds) {
+    this.bounds = bounds;
+    this.columns = Math.max(1, (int) Math.ceil(bounds.getWidth() * CELLS_PER_TILE));
+    this.rows = Math.max(1, (int) Math.ceil(bounds.getHeight() * CELLS_PER_TILE));
+    this.viewerCounts = new int[columns * rows];
+    this.explored = new boolean[columns * rows];
+  }
+
+  public MapRect getBounds() {
+    return bounds;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public boolean isVisible(int column, int row) {
+    return viewerCounts[row * columns + column] > 0;
+  }
+
+  public boolean isExplored(int column, int row) {
+    return explored[row * columns + column];
+  }
+
+  /**
+   * Starts an update. Every viewer should then be given to {@link #reveal(Object, MapPoint,
+   * double)} before calling {@link #endUpdate()}.
+   */
+  public void startUpdate() {
+    updateNumber++;
+  }
+
+  /**
+   * Lets the viewer see everything in the circle around the centre.
+   *
+   * @param viewer anything that identifies the viewer between updates
+   * @param centre the middle of what the viewer can see
+   * @param radius how far the viewer can see in tiles
+   */
+  public void reveal(Object viewer, MapPoint centre, double radius) {
+    int column = (int) Math.floor((centre.x - bounds.x()) * CELLS_PER_TILE);
+    int row = (int) Math.floor((centre.y - bounds.y()) * CELLS_PER_TILE);
+    int radiusInCells = (int) Math.round(radius * CELLS_PER_TILE);
+
+    Sight sight = sights.get(viewer);
+    if (sight != null) {
+      sight.lastUpdateNumber = updateNumber;
+      if (sight.column == column && sight.row == row && sight.radius == radiusInCells) {
+        return;
+      }
+      changeCircle(sight, -1);
+    }
+    sight = new Sight(column, row, radiusInCells, updateNumber);
+    sights.put(viewer, sight);
+    changeCircle(sight, 1);
+  }
+
+  /**
+   * Hides what viewers that weren't given since {@link #startUpdate()} could see.
+   */
+  public void endUpdate() {
+    Iterator<Sight> iterator = sights.values().iterator();
+    while (iterator.hasNext()) {
+      Sight sight = iterator.next();
+      if (sight.lastUpdateNumber != updateNumber) {
+        changeCircle(sight, -1);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Gets a number that changes whenever any cell is seen or hidden, so anything drawn from the grid
+   * only needs redrawing when this is different.
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  private void changeCircle(Sight sight, int change) {
+    int minRow = Math.max(0, sight.row - sight.radius);
+    int maxRow = Math.min(rows - 1, sight.row + sight.radius);
+    int minColumn = Math.max(0, sight.column - sight.radius);
+    int maxColumn = Math.min(columns - 1, sight.column + sight.radius);
+    int radiusSquared = sight.radius * sight.radius;
+    boolean hasChanged = false;
+    for (int row = minRow; row <= maxRow; row++) {
+      int dy = row - sight.row;
+      for (int column = minColumn; column <= maxColumn; column++) {
+        int dx = column - sight.column;
+        if (dx * dx + dy * dy > radiusSquared) {
+          continue;
+        }
+        int cell = row * columns + column;
+        viewerCounts[cell] += change;
+        if (viewerCounts[cell] == 0 || viewerCounts[cell] == change) {
+          // Went from visible to hidden or the other way
+          hasChanged = true;
+          explored[cell] = true;
+        }
+      }
+    }
+    if (hasChanged) {
+      version++;
+    }
+  }
+
+  /**
+   * The circle a viewer could see at the last update.
+   */
+  private static class Sight {
+
+    private final int column;
+    private final int row;
+    private final int radius;
+    private int lastUpdateNumber;
+
+    Sight(int column, int row, int radius, int lastUpdateNumber) {
+      this.column = column;
+      this.row = row;
+      this.radius = radius;
+      this.lastUpdateNumber = lastUpdateNumber;
+    }
+  }
+}
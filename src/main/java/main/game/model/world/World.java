@@ -31,6 +31,15 @@ public interface World {
 
   void removeUnitEntity(Unit unit);
 
+  /**
+   * Gets the units (including the hero) whose centre is within (or on) the radius of the given
+   * point. Only looks at units near the point, so prefer this over filtering {@link
+   * #getAllUnits()}.
+   *
+   * @return an unmodifiable collection of the units in range.
+   */
+  Collection<Unit> getUnitsInRange(MapPoint centre, double radius);
+
   /**
    * Gets the hero unit in the world.
    */
@@ -78,6 +87,11 @@ public interface World {
    */
   boolean isPassable(MapPoint point);
 
+  /**
+   * Checks whether a unit can walk in a straight line from one point to the other.
+   */
+  boolean isLinePassable(MapPoint from, MapPoint to);
+
   /**
    * A method to change all the current positions/animations of all entities in the world.
    */
@@ -113,5 +127,11 @@ public interface World {
    */
   MapRect getCurrentLevelBounds();
 
+  /**
+   * Gets what the player's units can see on the current level, and what they have seen before.
+   * Updated at the end of every tick, and replaced with a new grid when the level changes.
+   */
+  VisibilityGrid getVisibilityGrid();
+
   Collection<Entity> recieveRecentlyAddedEntities();
 }
@@ -0,0 +1,227 @@
+package main.game.model.world.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * The distance from every point in an area to one goal, so that any number of units going to the
+ * same place can find their path from one search.
+ *
+ * <p>
+ * Points are on a grid of whole tiles from the goal, so every path ends exactly on the goal. The
+ * distances are worked out with Dijkstra's algorithm outwards from the goal, using the same 8
+ * directions and corner rule as {@link DefaultPathFinder}. A path is found by starting at the grid
+ * point next to the start and repeatedly stepping to the neighbour that is closest to the goal.
+ * </p>
+ *
+ * <p>
+ * Each path is moved over by how far the start is from its grid point, so units following the same
+ * field walk side by side instead of all queueing for the exact same points. Once a moved point
+ * would be impassable the rest of the path goes back to the grid points.
+ * </p>
+ *
+ * @author agent
+ */
+public class FlowField {
+
+  private final MapPoint goal;
+  private final double originX;
+  private final double originY;
+  private final int columns;
+  private final int rows;
+  private final boolean[] passable;
+  private final double[] distances;
+  private final boolean isGoalPassable;
+
+  /**
+   * Works out the distance to the goal from every point in the area.
+   *
+   * @param isPassable a function that determines whether a given point is passable or not
+   * @param goal the point all the paths go to
+   * @param area the area to search. Points outside it are treated as impassable.
+   */
+  public FlowField(Function<MapPoint, Boolean> isPassable, MapPoint goal, MapRect area) {
+    this.goal = goal;
+    int minColumn = (int) Math.ceil(area.topLeft.x - goal.x);
+    int minRow = (int) Math.ceil(area.topLeft.y - goal.y);
+    this.originX = goal.x + minColumn;
+    this.originY = goal.y + minRow;
+    this.columns = Math.max(0, (int) Math.floor(area.bottomRight.x - originX) + 1);
+    this.rows = Math.max(0, (int) Math.floor(area.bottomRight.y - originY) + 1);
+
+    this.passable = new boolean[columns * rows];
+    for (int cell = 0; cell < passable.length; cell++) {
+      passable[cell] = isPassable.apply(pointOf(cell));
+    }
+    this.distances = new double[columns * rows];
+    Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+    this.isGoalPassable = isPassable(-minColumn, -minRow);
+    if (isGoalPassable) {
+      fillDistances(cellIndex(-minColumn, -minRow));
+    }
+  }
+
+  public MapPoint getGoal() {
+    return goal;
+  }
+
+  /**
+   * Checks if the goal is somewhere that can be walked to. If it isn't, no paths will be found.
+   */
+  public boolean isGoalPassable() {
+    return isGoalPassable;
+  }
+
+  /**
+   * Finds the shortest path from the start to the goal.
+   *
+   * @param isPassable the same function the field was made with
+   * @param start the start point of the path
+   * @return the points along the path (not including the start), or null if the goal can't be
+   *     reached from the start.
+   */
+  public List<MapPoint> findPath(Function<MapPoint, Boolean> isPassable, MapPoint start) {
+    int cell = closestReachableCell(start);
+    if (cell < 0) {
+      return null;
+    }
+
+    List<MapPoint> path = new ArrayList<>();
+    if (distances[cell] == 0) {
+      path.add(goal);
+      return path;
+    }
+
+    MapPoint startPoint = pointOf(cell);
+    double offsetX = start.x - startPoint.x;
+    double offsetY = start.y - startPoint.y;
+
+    boolean isOffset = true;
+    MapPoint previousPoint = startPoint;
+    while (distances[cell] > 0) {
+      int column = cell % columns;
+      int row = cell / columns;
+      int next = -1;
+      double nextDistance = distances[cell];
+      for (int n = 0; n < GridDirections.DX.length; n++) {
+        int neighbour = neighbourCell(column, row, GridDirections.DX[n], GridDirections.DY[n]);
+        if (neighbour >= 0 && distances[neighbour] < nextDistance) {
+          next = neighbour;
+          nextDistance = distances[neighbour];
+        }
+      }
+      if (next < 0) {
+        // Can't happen for a reachable cell, but never loop forever
+        return null;
+      }
+      cell = next;
+      if (distances[cell] == 0) {
+        path.add(goal);
+      } else {
+        MapPoint point = pointOf(cell);
+        MapPoint offsetPoint = new MapPoint(point.x + offsetX, point.y + offsetY);
+        if (isOffset && isPassable.apply(offsetPoint)) {
+          path.add(offsetPoint);
+        } else {
+          if (isOffset) {
+            // Step back onto the grid before following it past the obstacle
+            isOffset = false;
+            path.add(previousPoint);
+          }
+          path.add(point);
+        }
+        previousPoint = point;
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Finds the grid point around the start that gives the shortest path to the goal.
+   *
+   * @return the cell, or -1 if none of them can reach the goal.
+   */
+  private int closestReachableCell(MapPoint start) {
+    int column = (int) Math.floor(start.x - originX);
+    int row = (int) Math.floor(start.y - originY);
+    int best = -1;
+    double bestDistance = Double.POSITIVE_INFINITY;
+    for (int c = column; c <= column + 1; c++) {
+      for (int r = row; r <= row + 1; r++) {
+        if (c < 0 || r < 0 || c >= columns || r >= rows) {
+          continue;
+        }
+        int cell = cellIndex(c, r);
+        double distance = distances[cell] + start.distanceTo(pointOf(cell));
+        if (distance < bestDistance) {
+          best = cell;
+          bestDistance = distance;
+        }
+      }
+    }
+    return best;
+  }
+
+  private void fillDistances(int goalCell) {
+    PriorityQueue<FringeEntry> fringe = new PriorityQueue<>();
+    distances[goalCell] = 0;
+    fringe.add(new FringeEntry(goalCell, 0));
+
+    while (!fringe.isEmpty()) {
+      FringeEntry queued = fringe.poll();
+      if (queued.cost > distances[queued.index]) {
+        // Already found a shorter way here
+        continue;
+      }
+      int column = queued.index % columns;
+      int row = queued.index / columns;
+      for (int n = 0; n < GridDirections.DX.length; n++) {
+        int dx = GridDirections.DX[n];
+        int dy = GridDirections.DY[n];
+        int neighbour = neighbourCell(column, row, dx, dy);
+        if (neighbour < 0) {
+          continue;
+        }
+        double distance = queued.cost + (dx != 0 && dy != 0 ? GridDirections.DIAGONAL_COST : 1);
+        if (distance < distances[neighbour]) {
+          distances[neighbour] = distance;
+          fringe.add(new FringeEntry(neighbour, distance));
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the cell in the direction if it can be moved to from column, row.
+   *
+   * @return the cell or -1 if it is impassable or the corner can't be cut.
+   */
+  private int neighbourCell(int column, int row, int dx, int dy) {
+    if (!isPassable(column + dx, row + dy)) {
+      return -1;
+    }
+    if (dx != 0 && dy != 0 && !isPassable(column + dx, row) && !isPassable(column, row + dy)) {
+      return -1;
+    }
+    return cellIndex(column + dx, row + dy);
+  }
+
+  private boolean isPassable(int column, int row) {
+    return column >= 0 && row >= 0 && column < columns && row < rows
+        && passable[cellIndex(column, row)];
+  }
+
+  private int cellIndex(int column, int row) {
+    return row * columns + column;
+  }
+
+  private MapPoint pointOf(int cell) {
+    return new MapPoint(originX + cell % columns, originY + cell / columns);
+  }
+}
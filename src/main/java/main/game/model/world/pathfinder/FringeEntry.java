@@ -0,0 +1,23 @@
+package main.game.model.world.pathfinder;
+
+/**
+ * A cell or node on a search fringe, ordered by its cost. Entries aren't removed when a cheaper way
+ * is found, so searches skip the ones that cost more than the best known cost when they are polled.
+ *
+ * @author agent
+ */
+final class FringeEntry implements Comparable<FringeEntry> {
+
+  final int index;
+  final double cost;
+
+  FringeEntry(int index, double cost) {
+    this.index = index;
+    this.cost = cost;
+  }
+
+  @Override
+  public int compareTo(FringeEntry other) {
+    return Double.compare(cost, other.cost);
+  }
+}
@@ -0,0 +1,22 @@
+package main.game.model.world.pathfinder;
+
+/**
+ * The eight directions a grid search can step in, and what a step costs.
+ *
+ * <p>
+ * The sides come first then the corners (top-left, top-right, bottom-left, bottom-right), so
+ * searches that look at the sides before the corners can loop over the tables in order.
+ * </p>
+ *
+ * @author agent
+ */
+final class GridDirections {
+
+  static final double DIAGONAL_COST = Math.sqrt(2);
+
+  static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+  static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+  private GridDirections() {
+  }
+}
@@ -0,0 +1,402 @@
+package main.game.model.world.pathfinder;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Stack;
+import java.util.function.Function;
+import main.util.MapPoint;
+
+/**
+ * A* path finder that finds the same paths as {@link DefaultPathFinder} without allocating search
+ * nodes.
+ *
+ * <p>
+ * Points are on a grid of whole tiles from the start point (the same points the
+ * {@link DefaultPathFinder} looks at), and are referred to by their index in a square window around
+ * the start. The open set is a binary heap of cell indices and the costs, parents and visited flags
+ * live in arrays that are reused between searches. Instead of clearing the arrays each search
+ * increases a generation number and a cell's entries only count if they were written this
+ * generation. Passability is also remembered per cell so isPassable is only called once per point
+ * per search.
+ * </p>
+ *
+ * <p>
+ * Subclasses can change which cells are searched from each cell by overriding
+ * {@link #expandNeighbours(int, double)}. Consecutive cells in a path don't have to be next to each
+ * other, as long as they are in a straight or diagonal line.
+ * </p>
+ *
+ * @author agent
+ */
+public class GridPathFinder implements PathFinder, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int SEARCH_LIMIT = 200;
+
+  /**
+   * Caps how big the search window (and so the arrays) can get for a very long path.
+   */
+  private static final int MAX_SEARCH_RADIUS = 256;
+
+  private static final int NO_PARENT = -1;
+
+  private transient int generation;
+  private transient int capacity;
+
+  private transient int[] seenGeneration;
+  private transient int[] closedGeneration;
+  private transient int[] passableGeneration;
+  private transient boolean[] passable;
+  private transient double[] costs;
+  private transient int[] parents;
+
+  private transient int[] heap;
+  private transient double[] heapKeys;
+  private transient int[] heapPositions;
+  private transient int heapSize;
+
+  private transient int[] pathBuffer;
+
+  // Describes the current search
+  private transient Function<MapPoint, Boolean> isPassable;
+  private transient MapPoint end;
+  private transient double acceptableDistanceFromEnd;
+  private transient int radius;
+  private transient int width;
+  private transient double originX;
+  private transient double originY;
+  private transient boolean reachedGoal;
+
+  @Override
+  public Stack<MapPoint> findPath(
+      Function<MapPoint, Boolean> isPassable, MapPoint start, MapPoint end
+  ) {
+    return this.findPath(isPassable, start, end, 0);
+  }
+
+  @Override
+  public synchronized Stack<MapPoint> findPath(
+      Function<MapPoint, Boolean> isPassable,
+      MapPoint start,
+      MapPoint end,
+      double acceptableDistanceFromEnd
+  ) {
+    double directDistance = start.distanceTo(end);
+    beginSearch(start, directDistance);
+    this.isPassable = isPassable;
+    this.end = end;
+    this.acceptableDistanceFromEnd = acceptableDistanceFromEnd;
+    this.reachedGoal = false;
+    try {
+      return search(directDistance);
+    } finally {
+      // Don't hold on to the world between searches
+      this.isPassable = null;
+      this.end = null;
+    }
+  }
+
+  private Stack<MapPoint> search(double directDistance) {
+    int startCell = cellIndex(radius, radius);
+    costs[startCell] = 0;
+    parents[startCell] = NO_PARENT;
+    seenGeneration[startCell] = generation;
+    push(startCell, directDistance);
+
+    int bestCell = startCell;
+    double bestEstimate = Double.POSITIVE_INFINITY;
+
+    while (heapSize > 0) {
+      int cell = pop();
+      closedGeneration[cell] = generation;
+
+      double costFromStart = costs[cell];
+      double x = pointX(cell);
+      double y = pointY(cell);
+      double estimateToGoal = Math.hypot(x - end.x, y - end.y);
+
+      if (estimateToGoal < bestEstimate) {
+        bestEstimate = estimateToGoal;
+        bestCell = cell;
+      }
+
+      //stop finding a path if we have explored too many nodes
+      if (costFromStart > directDistance * 3 && costFromStart > SEARCH_LIMIT) {
+        return buildPath(bestCell);
+      }
+
+      // @hack to make sure the units can get more exact destinations
+      if ((int) x == (int) end.x && (int) y == (int) end.y) {
+        reachedGoal = true;
+        return buildPathEndingAt(cell, end);
+      }
+      // end hack
+
+      if (estimateToGoal < acceptableDistanceFromEnd) {
+        reachedGoal = true;
+        return buildPath(cell);
+      }
+
+      expandNeighbours(cell, costFromStart);
+    }
+
+    return buildPath(bestCell);
+  }
+
+  /**
+   * Checks if the last search got to the end (or close enough to it), rather than giving up and
+   * returning the path to the closest point it found.
+   */
+  protected final boolean didReachGoal() {
+    return reachedGoal;
+  }
+
+  /**
+   * Builds the path to the cell, but with the exact end point instead of the cell's point.
+   */
+  private Stack<MapPoint> buildPathEndingAt(int cell, MapPoint exactEnd) {
+    Stack<MapPoint> path = buildPath(cell);
+    if (!path.isEmpty()) {
+      path.set(path.size() - 1, exactEnd);
+    }
+    return path;
+  }
+
+  /**
+   * Searches from the cell to the next cells. Only passable neighbours are searched, and corners
+   * are only allowed if at least one of the two sides next to the corner is passable (the same rule
+   * as {@link DefaultPathFinder}).
+   *
+   * @param cell the cell that was just taken off the open set.
+   * @param costFromStart the cost of the best path to the cell.
+   */
+  protected void expandNeighbours(int cell, double costFromStart) {
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+
+    for (int n = 0; n < GridDirections.DX.length; n++) {
+      int dx = GridDirections.DX[n];
+      int dy = GridDirections.DY[n];
+      boolean isCorner = dx != 0 && dy != 0;
+
+      if (isCorner && !isPassable(column + dx, row) && !isPassable(column, row + dy)) {
+        continue;
+      }
+      if (!isPassable(column + dx, row + dy)) {
+        continue;
+      }
+      double stepCost = isCorner ? GridDirections.DIAGONAL_COST : 1;
+      relax(cellIndex(column + dx, row + dy), cell, costFromStart + stepCost);
+    }
+  }
+
+  /**
+   * Records that the cell can be reached from the parent cell with the given cost, and adds it to
+   * the open set if that is the best way found so far to get there.
+   */
+  protected final void relax(int cell, int parent, double costFromStart) {
+    if (closedGeneration[cell] == generation) {
+      return;
+    }
+    if (seenGeneration[cell] == generation && costs[cell] <= costFromStart) {
+      return;
+    }
+
+    costs[cell] = costFromStart;
+    parents[cell] = parent;
+    double estimate = costFromStart + Math.hypot(pointX(cell) - end.x, pointY(cell) - end.y);
+    if (seenGeneration[cell] == generation) {
+      decreaseKey(cell, estimate);
+    } else {
+      seenGeneration[cell] = generation;
+      push(cell, estimate);
+    }
+  }
+
+  /**
+   * Checks (and remembers for this search) if the point at column, row is passable. Points outside
+   * the search window are impassable.
+   */
+  protected final boolean isPassable(int column, int row) {
+    if (column < 0 || row < 0 || column >= width || row >= width) {
+      return false;
+    }
+    int cell = cellIndex(column, row);
+    if (passableGeneration[cell] != generation) {
+      passableGeneration[cell] = generation;
+      passable[cell] = isPassable.apply(new MapPoint(pointX(cell), pointY(cell)));
+    }
+    return passable[cell];
+  }
+
+  /**
+   * Checks if the search would finish at the point at column, row.
+   */
+  protected final boolean isGoal(int column, int row) {
+    double x = originX + column;
+    double y = originY + row;
+    return ((int) x == (int) end.x && (int) y == (int) end.y)
+        || Math.hypot(x - end.x, y - end.y) < acceptableDistanceFromEnd;
+  }
+
+  /**
+   * Builds the path from (but not including) the start to the given cell.
+   */
+  private Stack<MapPoint> buildPath(int lastCell) {
+    int length = 0;
+    for (int cell = lastCell; parents[cell] != NO_PARENT; cell = parents[cell]) {
+      // Fill in the cells between this cell and its parent, which are in a straight line
+      int parent = parents[cell];
+      int stepX = Integer.signum(columnOf(parent) - columnOf(cell));
+      int stepY = Integer.signum(rowOf(parent) - rowOf(cell));
+      for (int between = cell; between != parent;
+          between = cellIndex(columnOf(between) + stepX, rowOf(between) + stepY)) {
+        pathBuffer[length++] = between;
+      }
+    }
+
+    Stack<MapPoint> path = new Stack<>();
+    path.ensureCapacity(length);
+    for (int i = length - 1; i >= 0; i--) {
+      path.push(new MapPoint(pointX(pathBuffer[i]), pointY(pathBuffer[i])));
+    }
+    return path;
+  }
+
+  private void beginSearch(MapPoint start, double directDistance) {
+    radius = (int) Math.min(
+        MAX_SEARCH_RADIUS,
+        Math.ceil(Math.max(directDistance * 3, SEARCH_LIMIT)) + 2
+    );
+    width = radius * 2 + 1;
+    originX = start.x - radius;
+    originY = start.y - radius;
+    ensureCapacity(width * width);
+
+    heapSize = 0;
+    generation++;
+    if (generation == Integer.MAX_VALUE) {
+      // Old stamps could match again after wrapping around so forget them all
+      Arrays.fill(seenGeneration, 0);
+      Arrays.fill(closedGeneration, 0);
+      Arrays.fill(passableGeneration, 0);
+      generation = 1;
+    }
+  }
+
+  private void ensureCapacity(int cells) {
+    if (capacity >= cells) {
+      return;
+    }
+    capacity = cells;
+    seenGeneration = new int[cells];
+    closedGeneration = new int[cells];
+    passableGeneration = new int[cells];
+    passable = new boolean[cells];
+    costs = new double[cells];
+    parents = new int[cells];
+    heap = new int[cells];
+    heapKeys = new double[cells];
+    heapPositions = new int[cells];
+    pathBuffer = new int[cells];
+    generation = 0;
+  }
+
+  protected final int cellIndex(int column, int row) {
+    return row * width + column;
+  }
+
+  protected final int columnOf(int cell) {
+    return cell % width;
+  }
+
+  protected final int rowOf(int cell) {
+    return cell / width;
+  }
+
+  /**
+   * Gets the cell that the best path found so far to the cell came from.
+   *
+   * @return the parent, or a negative number for the start cell.
+   */
+  protected final int getParent(int cell) {
+    return parents[cell];
+  }
+
+  private double pointX(int cell) {
+    return originX + cell % width;
+  }
+
+  private double pointY(int cell) {
+    return originY + cell / width;
+  }
+
+  private void push(int cell, double key) {
+    heap[heapSize] = cell;
+    heapKeys[heapSize] = key;
+    heapPositions[cell] = heapSize;
+    heapSize++;
+    siftUp(heapSize - 1);
+  }
+
+  private int pop() {
+    int top = heap[0];
+    heapSize--;
+    if (heapSize > 0) {
+      moveInHeap(heapSize, 0);
+      siftDown(0);
+    }
+    return top;
+  }
+
+  private void decreaseKey(int cell, double key) {
+    int position = heapPositions[cell];
+    heapKeys[position] = key;
+    siftUp(position);
+  }
+
+  private void siftUp(int position) {
+    int cell = heap[position];
+    double key = heapKeys[position];
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (heapKeys[parent] <= key) {
+        break;
+      }
+      moveInHeap(parent, position);
+      position = parent;
+    }
+    heap[position] = cell;
+    heapKeys[position] = key;
+    heapPositions[cell] = position;
+  }
+
+  private void siftDown(int position) {
+    int cell = heap[position];
+    double key = heapKeys[position];
+    while (true) {
+      int child = position * 2 + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+        child++;
+      }
+      if (heapKeys[child] >= key) {
+        break;
+      }
+      moveInHeap(child, position);
+      position = child;
+    }
+    heap[position] = cell;
+    heapKeys[position] = key;
+    heapPositions[cell] = position;
+  }
+
+  private void moveInHeap(int from, int to) {
+    heap[to] = heap[from];
+    heapKeys[to] = heapKeys[from];
+    heapPositions[heap[to]] = to;
+  }
+}
@@ -0,0 +1,389 @@
+package main.game.model.world.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Stack;
+import java.util.function.Function;
+import main.util.MapPoint;
+import main.util.MapRect;
+
+/**
+ * Hierarchical path finder (HPA*) for paths that are too long for a single A* search.
+ *
+ * <p>
+ * The area's tiles are split into square sectors. Where two sectors touch, each run of tiles that
+ * are passable on both sides is an entrance with a portal in it. The cost of walking between every
+ * pair of portals in a sector is worked out once when this is made. A path is found by searching
+ * the small graph of portals for which sectors to go through, then joining the portals up with
+ * short searches by the local {@link PathFinder}.
+ * </p>
+ *
+ * <p>
+ * Portals are at the centres of tiles and the sectors use the same 8 directions and corner rule as
+ * {@link DefaultPathFinder}. The passability must not change while this is in use; make a new one
+ * when it does.
+ * </p>
+ *
+ * @author agent
+ */
+public class HierarchicalPathFinder {
+
+  /**
+   * The width and height of a sector in tiles.
+   */
+  public static final int SECTOR_SIZE = 8;
+
+  /**
+   * Entrances at least this long get a portal at each end rather than one in the middle.
+   */
+  private static final int LONG_ENTRANCE = 6;
+
+  private final Function<MapPoint, Boolean> isPassable;
+  private final PathFinder localPathFinder;
+  private final double originX;
+  private final double originY;
+  private final int columns;
+  private final int rows;
+  private final boolean[] passable;
+
+  /**
+   * The tile each portal is on, and the portal on each tile (or -1).
+   */
+  private final List<Integer> portalTiles = new ArrayList<>();
+  private final int[] portalOfTile;
+  private final List<List<Edge>> edges = new ArrayList<>();
+
+  /**
+   * Builds the sectors and portals for the area.
+   *
+   * @param isPassable a function that determines whether a given point is passable or not
+   * @param area the area to search. Points outside it are treated as impassable.
+   * @param localPathFinder finds the paths between portals.
+   */
+  public HierarchicalPathFinder(
+      Function<MapPoint, Boolean> isPassable, MapRect area, PathFinder localPathFinder
+  ) {
+    this.isPassable = isPassable;
+    this.localPathFinder = localPathFinder;
+    this.originX = area.topLeft.x;
+    this.originY = area.topLeft.y;
+    this.columns = Math.max(0, (int) Math.floor(area.getWidth()));
+    this.rows = Math.max(0, (int) Math.floor(area.getHeight()));
+
+    this.passable = new boolean[columns * rows];
+    for (int tile = 0; tile < passable.length; tile++) {
+      passable[tile] = isPassable.apply(centreOf(tile));
+    }
+    this.portalOfTile = new int[columns * rows];
+    Arrays.fill(portalOfTile, -1);
+
+    addEntrances();
+    for (int portal = 0; portal < portalTiles.size(); portal++) {
+      connectPortalsInSector(portal);
+    }
+  }
+
+  /**
+   * Finds a path from the start to the end.
+   *
+   * @return the points along the path (not including the start), or null if no complete path
+   *     was found.
+   */
+  public List<MapPoint> findPath(MapPoint start, MapPoint end) {
+    int startTile = tileAt(start);
+    int endTile = tileAt(end);
+    if (startTile < 0 || endTile < 0 || !passable[startTile] || !passable[endTile]) {
+      return null;
+    }
+
+    List<MapPoint> waypoints = findWaypoints(startTile, endTile);
+    if (waypoints == null) {
+      return null;
+    }
+    waypoints.add(end);
+    removeUnneededWaypoints(start, waypoints);
+
+    List<MapPoint> path = new ArrayList<>();
+    MapPoint from = start;
+    for (MapPoint waypoint : waypoints) {
+      Stack<MapPoint> leg = localPathFinder.findPath(isPassable, from, waypoint);
+      if (leg.isEmpty() && from.isSimilar(waypoint)) {
+        leg.push(waypoint);
+      }
+      if (leg.isEmpty() || !leg.peek().equals(waypoint)) {
+        // The local search couldn't get to the next portal
+        return null;
+      }
+      path.addAll(leg);
+      from = waypoint;
+    }
+    return path;
+  }
+
+  /**
+   * Searches the portal graph for the portals to go through between the tiles.
+   *
+   * @return the centres of the portals in order, or null if the end tile can't be reached.
+   */
+  private List<MapPoint> findWaypoints(int startTile, int endTile) {
+    int portals = portalTiles.size();
+    int startNode = portals;
+    int endNode = portals + 1;
+
+    Map<Integer, Double> fromStart = distancesInSector(startTile);
+    Map<Integer, Double> toEnd = distancesInSector(endTile);
+
+    double[] costs = new double[portals + 2];
+    int[] parents = new int[portals + 2];
+    boolean[] closed = new boolean[portals + 2];
+    Arrays.fill(costs, Double.POSITIVE_INFINITY);
+    Arrays.fill(parents, -1);
+
+    MapPoint endCentre = centreOf(endTile);
+    PriorityQueue<FringeEntry> fringe = new PriorityQueue<>();
+    costs[startNode] = 0;
+    fringe.add(new FringeEntry(startNode, centreOf(startTile).distanceTo(endCentre)));
+
+    while (!fringe.isEmpty()) {
+      int node = fringe.poll().index;
+      if (closed[node]) {
+        continue;
+      }
+      closed[node] = true;
+      if (node == endNode) {
+        return waypointsTo(parents, startNode, endNode);
+      }
+
+      List<Edge> nodeEdges = new ArrayList<>();
+      if (node == startNode) {
+        for (Map.Entry<Integer, Double> entry : fromStart.entrySet()) {
+          int portal = portalOfTile[entry.getKey()];
+          if (portal >= 0) {
+            nodeEdges.add(new Edge(portal, entry.getValue()));
+          }
+        }
+        if (fromStart.containsKey(endTile)) {
+          nodeEdges.add(new Edge(endNode, fromStart.get(endTile)));
+        }
+      } else {
+        nodeEdges.addAll(edges.get(node));
+        Double toEndCost = toEnd.get(portalTiles.get(node));
+        if (toEndCost != null) {
+          nodeEdges.add(new Edge(endNode, toEndCost));
+        }
+      }
+
+      for (Edge edge : nodeEdges) {
+        double cost = costs[node] + edge.cost;
+        if (closed[edge.to] || cost >= costs[edge.to]) {
+          continue;
+        }
+        costs[edge.to] = cost;
+        parents[edge.to] = node;
+        MapPoint point = edge.to == endNode ? endCentre : centreOf(portalTiles.get(edge.to));
+        fringe.add(new FringeEntry(edge.to, cost + point.distanceTo(endCentre)));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Going through the middle of every portal zigzags, so skip the portals that don't need to be
+   * gone through to walk in a straight line to the one after.
+   */
+  private void removeUnneededWaypoints(MapPoint start, List<MapPoint> waypoints) {
+    MapPoint from = start;
+    int i = 0;
+    while (i < waypoints.size() - 1) {
+      if (StraightLine.isPassable(isPassable, from, waypoints.get(i + 1))) {
+        waypoints.remove(i);
+      } else {
+        from = waypoints.get(i);
+        i++;
+      }
+    }
+  }
+
+  private List<MapPoint> waypointsTo(int[] parents, int startNode, int endNode) {
+    List<MapPoint> waypoints = new ArrayList<>();
+    for (int node = parents[endNode]; node != startNode; node = parents[node]) {
+      waypoints.add(0, centreOf(portalTiles.get(node)));
+    }
+    return waypoints;
+  }
+
+  private void addEntrances() {
+    // Between sectors side by side
+    for (int column = SECTOR_SIZE - 1; column + 1 < columns; column += SECTOR_SIZE) {
+      for (int fromRow = 0; fromRow < rows; fromRow += SECTOR_SIZE) {
+        int toRow = Math.min(rows, fromRow + SECTOR_SIZE);
+        int runStart = -1;
+        for (int row = fromRow; row <= toRow; row++) {
+          boolean open = row < toRow
+              && passable[tileIndex(column, row)] && passable[tileIndex(column + 1, row)];
+          if (open && runStart < 0) {
+            runStart = row;
+          } else if (!open && runStart >= 0) {
+            addEntrance(column, runStart, column, row - 1, 1, 0);
+            runStart = -1;
+          }
+        }
+      }
+    }
+    // Between sectors above and below each other
+    for (int row = SECTOR_SIZE - 1; row + 1 < rows; row += SECTOR_SIZE) {
+      for (int fromColumn = 0; fromColumn < columns; fromColumn += SECTOR_SIZE) {
+        int toColumn = Math.min(columns, fromColumn + SECTOR_SIZE);
+        int runStart = -1;
+        for (int column = fromColumn; column <= toColumn; column++) {
+          boolean open = column < toColumn
+              && passable[tileIndex(column, row)] && passable[tileIndex(column, row + 1)];
+          if (open && runStart < 0) {
+            runStart = column;
+          } else if (!open && runStart >= 0) {
+            addEntrance(runStart, row, column - 1, row, 0, 1);
+            runStart = -1;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the portals for an entrance running from (fromColumn, fromRow) to (toColumn, toRow) on
+   * one side of a sector border, where (dx, dy) goes across the border.
+   */
+  private void addEntrance(int fromColumn, int fromRow, int toColumn, int toRow, int dx, int dy) {
+    int length = Math.max(toColumn - fromColumn, toRow - fromRow) + 1;
+    if (length >= LONG_ENTRANCE) {
+      addPortalPair(tileIndex(fromColumn, fromRow), tileIndex(fromColumn + dx, fromRow + dy));
+      addPortalPair(tileIndex(toColumn, toRow), tileIndex(toColumn + dx, toRow + dy));
+    } else {
+      int middleColumn = (fromColumn + toColumn) / 2;
+      int middleRow = (fromRow + toRow) / 2;
+      addPortalPair(
+          tileIndex(middleColumn, middleRow), tileIndex(middleColumn + dx, middleRow + dy)
+      );
+    }
+  }
+
+  private void addPortalPair(int tile, int otherTile) {
+    int portal = portalAt(tile);
+    int otherPortal = portalAt(otherTile);
+    edges.get(portal).add(new Edge(otherPortal, 1));
+    edges.get(otherPortal).add(new Edge(portal, 1));
+  }
+
+  private int portalAt(int tile) {
+    if (portalOfTile[tile] < 0) {
+      portalOfTile[tile] = portalTiles.size();
+      portalTiles.add(tile);
+      edges.add(new ArrayList<>());
+    }
+    return portalOfTile[tile];
+  }
+
+  /**
+   * Adds edges from the portal to the other portals that can be reached in its sector.
+   */
+  private void connectPortalsInSector(int portal) {
+    for (Map.Entry<Integer, Double> entry : distancesInSector(portalTiles.get(portal)).entrySet()) {
+      int otherPortal = portalOfTile[entry.getKey()];
+      if (otherPortal >= 0 && otherPortal != portal) {
+        edges.get(portal).add(new Edge(otherPortal, entry.getValue()));
+      }
+    }
+  }
+
+  /**
+   * Dijkstra's algorithm from the tile to every tile in the same sector.
+   *
+   * @return the distance to each tile that can be reached without leaving the sector.
+   */
+  private Map<Integer, Double> distancesInSector(int fromTile) {
+    int sectorColumn = sectorColumnOf(fromTile);
+    int sectorRow = sectorRowOf(fromTile);
+    Map<Integer, Double> distances = new HashMap<>();
+    PriorityQueue<FringeEntry> fringe = new PriorityQueue<>();
+    distances.put(fromTile, 0.0);
+    fringe.add(new FringeEntry(fromTile, 0));
+
+    while (!fringe.isEmpty()) {
+      FringeEntry queued = fringe.poll();
+      if (queued.cost > distances.get(queued.index)) {
+        // Already found a shorter way here
+        continue;
+      }
+      int column = queued.index % columns;
+      int row = queued.index / columns;
+      for (int n = 0; n < GridDirections.DX.length; n++) {
+        int dx = GridDirections.DX[n];
+        int dy = GridDirections.DY[n];
+        int neighbourColumn = column + dx;
+        int neighbourRow = row + dy;
+        if (!isPassable(neighbourColumn, neighbourRow)
+            || neighbourColumn / SECTOR_SIZE != sectorColumn
+            || neighbourRow / SECTOR_SIZE != sectorRow) {
+          continue;
+        }
+        boolean isCorner = dx != 0 && dy != 0;
+        if (isCorner && !isPassable(column + dx, row) && !isPassable(column, row + dy)) {
+          continue;
+        }
+        int neighbour = tileIndex(neighbourColumn, neighbourRow);
+        double distance = queued.cost + (isCorner ? GridDirections.DIAGONAL_COST : 1);
+        Double known = distances.get(neighbour);
+        if (known == null || distance < known) {
+          distances.put(neighbour, distance);
+          fringe.add(new FringeEntry(neighbour, distance));
+        }
+      }
+    }
+    return distances;
+  }
+
+  private boolean isPassable(int column, int row) {
+    return column >= 0 && row >= 0 && column < columns && row < rows
+        && passable[tileIndex(column, row)];
+  }
+
+  private int tileAt(MapPoint point) {
+    int column = (int) Math.floor(point.x - originX);
+    int row = (int) Math.floor(point.y - originY);
+    if (column < 0 || row < 0 || column >= columns || row >= rows) {
+      return -1;
+    }
+    return tileIndex(column, row);
+  }
+
+  private int tileIndex(int column, int row) {
+    return row * columns + column;
+  }
+
+  private int sectorColumnOf(int tile) {
+    return tile % columns / SECTOR_SIZE;
+  }
+
+  private int sectorRowOf(int tile) {
+    return tile / columns / SECTOR_SIZE;
+  }
+
+  private MapPoint centreOf(int tile) {
+    return new MapPoint(originX + tile % columns + 0.5, originY + tile / columns + 0.5);
+  }
+
+  private static class Edge {
+
+    private final int to;
+    private final double cost;
+
+    Edge(int to, double cost) {
+      this.to = to;
+      this.cost = cost;
+    }
+  }
+}
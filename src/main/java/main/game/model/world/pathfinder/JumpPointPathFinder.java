@@ -0,0 +1,180 @@
+package main.game.model.world.pathfinder;
+
+import java.util.Stack;
+import java.util.function.Function;
+import main.util.MapPoint;
+
+/**
+ * Jump Point Search version of {@link GridPathFinder}. Finds paths of the same length (using the
+ * same 8 directions and corner rules) but on open maps it only adds the few points where the path
+ * might have to turn to the open set, instead of every point along the way.
+ *
+ * <p>
+ * From each point the search only carries on in the directions that a shortest path through the
+ * point could go, and "jumps" in each of those directions until it reaches a point where a
+ * shortest path might turn (a point next to an obstacle corner), the goal, or an obstacle. Corners
+ * can be cut as long as at least one of the two sides is passable, so a point is a jump point when
+ * a neighbour is only reachable through it because one side is blocked.
+ * </p>
+ *
+ * <p>
+ * Jumping skips the points between jump points, so when the end can't be reached the closest point
+ * found could be further away than the one {@link GridPathFinder} would find. In that case the
+ * search is done again without jumping so units still get as close as they can.
+ * </p>
+ *
+ * @author agent
+ */
+public class JumpPointPathFinder extends GridPathFinder {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int NOT_FOUND = -1;
+
+  private transient boolean isJumping;
+
+  @Override
+  public synchronized Stack<MapPoint> findPath(
+      Function<MapPoint, Boolean> isPassable,
+      MapPoint start,
+      MapPoint end,
+      double acceptableDistanceFromEnd
+  ) {
+    isJumping = true;
+    Stack<MapPoint> path = super.findPath(isPassable, start, end, acceptableDistanceFromEnd);
+    if (didReachGoal()) {
+      return path;
+    }
+    isJumping = false;
+    return super.findPath(isPassable, start, end, acceptableDistanceFromEnd);
+  }
+
+  @Override
+  protected void expandNeighbours(int cell, double costFromStart) {
+    if (!isJumping) {
+      super.expandNeighbours(cell, costFromStart);
+      return;
+    }
+
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    int parent = getParent(cell);
+
+    if (parent < 0) {
+      // The start can go in every direction
+      for (int dx = -1; dx <= 1; dx++) {
+        for (int dy = -1; dy <= 1; dy++) {
+          if (dx != 0 || dy != 0) {
+            jumpFrom(cell, costFromStart, dx, dy);
+          }
+        }
+      }
+      return;
+    }
+
+    int dx = Integer.signum(column - columnOf(parent));
+    int dy = Integer.signum(row - rowOf(parent));
+
+    if (dx != 0 && dy != 0) {
+      boolean verticalPassable = isPassable(column, row + dy);
+      boolean horizontalPassable = isPassable(column + dx, row);
+      // Natural neighbours
+      jumpFrom(cell, costFromStart, 0, dy);
+      jumpFrom(cell, costFromStart, dx, 0);
+      jumpFrom(cell, costFromStart, dx, dy);
+      // Forced neighbours behind a blocked side
+      if (!isPassable(column - dx, row) && verticalPassable) {
+        jumpFrom(cell, costFromStart, -dx, dy);
+      }
+      if (!isPassable(column, row - dy) && horizontalPassable) {
+        jumpFrom(cell, costFromStart, dx, -dy);
+      }
+    } else if (dx != 0) {
+      jumpFrom(cell, costFromStart, dx, 0);
+      if (isPassable(column + dx, row)) {
+        if (!isPassable(column, row + 1)) {
+          jumpFrom(cell, costFromStart, dx, 1);
+        }
+        if (!isPassable(column, row - 1)) {
+          jumpFrom(cell, costFromStart, dx, -1);
+        }
+      }
+    } else {
+      jumpFrom(cell, costFromStart, 0, dy);
+      if (isPassable(column, row + dy)) {
+        if (!isPassable(column + 1, row)) {
+          jumpFrom(cell, costFromStart, 1, dy);
+        }
+        if (!isPassable(column - 1, row)) {
+          jumpFrom(cell, costFromStart, -1, dy);
+        }
+      }
+    }
+  }
+
+  /**
+   * Jumps from the cell in the direction and adds the jump point (if any) to the open set.
+   */
+  private void jumpFrom(int cell, double costFromStart, int dx, int dy) {
+    int column = columnOf(cell);
+    int row = rowOf(cell);
+    boolean isDiagonal = dx != 0 && dy != 0;
+    if (isDiagonal && !isPassable(column + dx, row) && !isPassable(column, row + dy)) {
+      return;
+    }
+
+    int jumpPoint = jump(column + dx, row + dy, dx, dy);
+    if (jumpPoint == NOT_FOUND) {
+      return;
+    }
+
+    int steps = Math.max(Math.abs(columnOf(jumpPoint) - column), Math.abs(rowOf(jumpPoint) - row));
+    double stepCost = isDiagonal ? GridDirections.DIAGONAL_COST : 1;
+    relax(jumpPoint, cell, costFromStart + steps * stepCost);
+  }
+
+  /**
+   * Walks from column, row in the direction until it finds a jump point.
+   *
+   * @return the jump point or NOT_FOUND if it hit an obstacle (or the edge of the search) first.
+   */
+  private int jump(int column, int row, int dx, int dy) {
+    while (true) {
+      if (!isPassable(column, row)) {
+        return NOT_FOUND;
+      }
+      if (isGoal(column, row)) {
+        return cellIndex(column, row);
+      }
+
+      if (dx != 0 && dy != 0) {
+        if ((isPassable(column - dx, row + dy) && !isPassable(column - dx, row))
+            || (isPassable(column + dx, row - dy) && !isPassable(column, row - dy))) {
+          return cellIndex(column, row);
+        }
+        // A diagonal point is a jump point if going straight from it finds one
+        if (jump(column + dx, row, dx, 0) != NOT_FOUND
+            || jump(column, row + dy, 0, dy) != NOT_FOUND) {
+          return cellIndex(column, row);
+        }
+        if (!isPassable(column + dx, row) && !isPassable(column, row + dy)) {
+          // Can't cut this corner
+          return NOT_FOUND;
+        }
+      } else if (dx != 0) {
+        if ((isPassable(column + dx, row + 1) && !isPassable(column, row + 1))
+            || (isPassable(column + dx, row - 1) && !isPassable(column, row - 1))) {
+          return cellIndex(column, row);
+        }
+      } else {
+        if ((isPassable(column + 1, row + dy) && !isPassable(column + 1, row))
+            || (isPassable(column - 1, row + dy) && !isPassable(column - 1, row))) {
+          return cellIndex(column, row);
+        }
+      }
+
+      column += dx;
+      row += dy;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package main.game.model.world.pathfinder;
+
+import java.util.function.Function;
+import main.util.MapPoint;
+
+/**
+ * Checks whether a unit can walk in a straight line between two points, for path finders and
+ * units that want to skip points along a path.
+ *
+ * <p>
+ * Points along the line are checked a fraction of a tile apart. Where the line goes diagonally from
+ * one tile to another, one of the two tiles beside that corner has to be passable too. This is the
+ * same corner rule the path finders use, so a line is never accepted where they wouldn't go.
+ * </p>
+ *
+ * @author agent
+ */
+public final class StraightLine {
+
+  /**
+   * How far apart points are checked along the line.
+   */
+  private static final double CHECK_STEP = 0.25;
+
+  private StraightLine() {
+  }
+
+  /**
+   * Checks every point along the line from one point to the other, not including the first point.
+   *
+   * @param isPassable a function that determines whether a given point is passable or not
+   */
+  public static boolean isPassable(
+      Function<MapPoint, Boolean> isPassable, MapPoint from, MapPoint to
+  ) {
+    int steps = (int) Math.ceil(from.distanceTo(to) / CHECK_STEP);
+    MapPoint previous = from;
+    for (int i = 1; i <= steps; i++) {
+      double fraction = (double) i / steps;
+      MapPoint point = new MapPoint(
+          from.x + (to.x - from.x) * fraction,
+          from.y + (to.y - from.y) * fraction
+      );
+      if (!isPassable.apply(point)) {
+        return false;
+      }
+      boolean isCorner = Math.floor(point.x) != Math.floor(previous.x)
+          && Math.floor(point.y) != Math.floor(previous.y);
+      if (isCorner
+          && !isPassable.apply(new MapPoint(point.x, previous.y))
+          && !isPassable.apply(new MapPoint(previous.x, point.y))) {
+        return false;
+      }
+      previous = point;
+    }
+    return true;
+  }
+}
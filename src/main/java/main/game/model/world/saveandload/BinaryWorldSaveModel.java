@@ -0,0 +1,476 @@
+package main.game.model.world.saveandload;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import main.game.model.GameModel;
+import main.game.model.Level;
+import main.game.model.data.DataLoader;
+import main.game.model.entity.HeroUnit;
+import main.game.model.entity.MapEntity;
+import main.game.model.entity.Team;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.DefaultHeroUnit;
+import main.game.model.entity.unit.DefaultUnit;
+import main.game.model.entity.usable.Ability;
+import main.game.model.entity.usable.BaseAbility;
+import main.game.model.entity.usable.DamageBuffEffect;
+import main.game.model.entity.usable.DefaultItem;
+import main.game.model.entity.usable.Effect;
+import main.game.model.entity.usable.Item;
+import main.game.model.world.DefaultWorld;
+import main.game.model.world.World;
+import main.game.model.world.pathfinder.GridPathFinder;
+import main.util.MapPoint;
+
+/**
+ * Saves worlds in a small binary format made of records that each hold a part of the world.
+ *
+ * <p>
+ * A save starts with {@link #MAGIC} and the version of the format it was written in. After that
+ * each record is a type, the length of its contents, then its contents. Records from an older
+ * version are changed by {@link #MIGRATIONS} before they are read. Saves from a newer version are
+ * not loaded, as there is no way to tell whether their records still mean the same thing.
+ * </p>
+ *
+ * <p>
+ * Only what changes during the game is saved. The levels, map entities and goals are made again
+ * by the {@link DefaultWorldLoader}, skipping the levels that were finished. Ability cool downs and
+ * the time left on effects are saved. Unit states (what each unit was doing) and the timers in them
+ * (such as how far through an attack a unit was) are not, so units are idle when they are loaded.
+ * Projectiles and animations that were playing are not saved either.
+ * </p>
+ *
+ * @author agent
+ */
+public class BinaryWorldSaveModel implements WorldSaveModel {
+
+  /**
+   * The first four bytes of every save.
+   */
+  static final int MAGIC = 0x57534156;
+
+  /**
+   * The version of the format that saves are written in. Increase this when the records change.
+   */
+  static final int VERSION = 1;
+
+  // Record types. Never reuse a number, even if its record is removed.
+  private static final int WORLD_RECORD = 1;
+  private static final int ABILITY_RECORD = 2;
+  private static final int HERO_RECORD = 3;
+  private static final int UNIT_RECORD = 4;
+  private static final int EFFECT_RECORD = 5;
+  private static final int ITEM_RECORD = 6;
+
+  private static final String DAMAGE_BUFF_EFFECT = "damageBuff";
+
+  /**
+   * Changes the records of an old version to the records of the next version, by the old version.
+   * Add one whenever {@link #VERSION} goes up.
+   */
+  private static final Map<Integer, Migration> MIGRATIONS = Collections.emptyMap();
+
+  private final Filesystem filesystem;
+  private final DefaultWorldLoader worldLoader;
+
+  /**
+   * Default constructor.
+   *
+   * @param worldLoader makes the levels of loaded worlds, and has the data they use
+   */
+  public BinaryWorldSaveModel(Filesystem filesystem, DefaultWorldLoader worldLoader) {
+    this.filesystem = filesystem;
+    this.worldLoader = worldLoader;
+  }
+
+  @Override
+  public void save(World world, String filename) throws IOException {
+    Objects.requireNonNull(world);
+    if (!(world instanceof DefaultWorld)) {
+      throw new IllegalArgumentException("Can only save a DefaultWorld");
+    }
+    DefaultWorld defaultWorld = (DefaultWorld) world;
+
+    filesystem.save(toSaveFilename(filename), outputStream -> {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      writeWorld(new RecordWriter(out), defaultWorld);
+      out.flush();
+    });
+  }
+
+  private void writeWorld(RecordWriter records, DefaultWorld world) throws IOException {
+    records.write(WORLD_RECORD, out -> out.writeInt(world.getLevelsLeft()));
+
+    // The abilities come first so the hero can be made with them
+    HeroUnit heroUnit = world.getHeroUnit();
+    for (Ability ability : heroUnit.getAbilities()) {
+      writeAbility(records, (BaseAbility) ability, false);
+    }
+    for (Ability ability : heroUnit.getItemAbilities()) {
+      writeAbility(records, (BaseAbility) ability, true);
+    }
+    records.write(HERO_RECORD, out -> {
+      writeUnitPosition(out, heroUnit);
+      out.writeDouble(heroUnit.getHealth());
+      out.writeInt(heroUnit.getLevel());
+    });
+    writeEffects(records, heroUnit);
+
+    for (Unit unit : world.getAllUnits()) {
+      if (unit == heroUnit) {
+        continue;
+      }
+      records.write(UNIT_RECORD, out -> {
+        writeUnitPosition(out, unit);
+        out.writeDouble(unit.getHealth());
+        out.writeInt(unit.getLevel());
+        out.writeUTF(unit.getTeam().name());
+      });
+      writeEffects(records, unit);
+    }
+
+    for (Item item : world.getItems()) {
+      BaseAbility ability = (BaseAbility) item.getAbility();
+      records.write(ITEM_RECORD, out -> {
+        out.writeUTF(item.getName());
+        out.writeUTF(((DefaultItem) item).getImage().getId());
+        out.writeDouble(item.getTopLeft().x);
+        out.writeDouble(item.getTopLeft().y);
+        out.writeUTF(ability.getAbilityId());
+        out.writeInt(ability.getUses());
+      });
+    }
+  }
+
+  private void writeAbility(RecordWriter records, BaseAbility ability, boolean isItemAbility)
+      throws IOException {
+    records.write(ABILITY_RECORD, out -> {
+      out.writeBoolean(isItemAbility);
+      out.writeUTF(ability.getAbilityId());
+      out.writeInt(ability.getUses());
+      out.writeInt(ability.getCoolDownTicksLeft());
+    });
+  }
+
+  private void writeUnitPosition(DataOutputStream out, Unit unit) throws IOException {
+    out.writeUTF(unit.getType());
+    out.writeDouble(unit.getTopLeft().x);
+    out.writeDouble(unit.getTopLeft().y);
+  }
+
+  /**
+   * Writes the effects on the unit, which are read back onto the unit written just before them.
+   */
+  private void writeEffects(RecordWriter records, Unit unit) throws IOException {
+    if (!(unit instanceof DefaultUnit)) {
+      return;
+    }
+    for (Effect effect : ((DefaultUnit) unit).getActiveEffects()) {
+      // Damage buffs are the only effects so far
+      if (effect instanceof DamageBuffEffect) {
+        DamageBuffEffect damageBuff = (DamageBuffEffect) effect;
+        records.write(EFFECT_RECORD, out -> {
+          out.writeUTF(DAMAGE_BUFF_EFFECT);
+          out.writeInt(damageBuff.getTicksLeft());
+          out.writeDouble(damageBuff.getAmount());
+        });
+      }
+    }
+  }
+
+  @Override
+  public World load(String filename) throws IOException {
+    DataLoader dataLoader = this.worldLoader.getDataLoader();
+    List<Record> records = filesystem.load(filename, inputStream -> {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+      if (in.readInt() != MAGIC) {
+        throw new IOException(filename + " is not a saved game");
+      }
+      int version = in.readInt();
+      if (version > VERSION) {
+        throw new IOException(filename + " was saved by a newer version of the game");
+      }
+      return migrate(version, readRecords(in));
+    });
+
+    WorldReader worldReader = new WorldReader(dataLoader);
+    try {
+      for (Record record : records) {
+        worldReader.read(record);
+      }
+      return worldReader.build();
+    } catch (IllegalStateException | IllegalArgumentException e) {
+      // Data that the save uses has been removed or changed
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  private List<Record> readRecords(DataInputStream in) throws IOException {
+    List<Record> records = new ArrayList<>();
+    int type;
+    while ((type = in.read()) != -1) {
+      int length = in.readInt();
+      if (length < 0) {
+        throw new IOException("Record has a negative length");
+      }
+      byte[] contents = new byte[length];
+      in.readFully(contents);
+      records.add(new Record(type, contents));
+    }
+    return records;
+  }
+
+  private List<Record> migrate(int version, List<Record> records) throws IOException {
+    for (; version < VERSION; version++) {
+      Migration migration = MIGRATIONS.get(version);
+      if (migration == null) {
+        throw new IOException("Saves from version " + version + " can no longer be loaded");
+      }
+      records = migration.migrate(records);
+    }
+    return records;
+  }
+
+  @Override
+  public Collection<String> getExistingGameSaves() {
+    return filesystem.availableFilenames()
+        .stream()
+        .filter(filename -> filename.endsWith(SAVE_FILE_EXTENSION))
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Checks the filename has no slashes and adds the save file extension if it is missing.
+   */
+  private static String toSaveFilename(String filename) {
+    if (filename.contains("/")) {
+      throw new IllegalArgumentException("Filename should not contain slashes");
+    }
+    if (!filename.endsWith("." + SAVE_FILE_EXTENSION)) {
+      filename += "." + SAVE_FILE_EXTENSION;
+    }
+    return filename;
+  }
+
+  /**
+   * Makes a world from records that have been read.
+   */
+  private class WorldReader {
+
+    private final DataLoader dataLoader;
+    private final List<Ability> abilities = new ArrayList<>();
+    private final List<Ability> itemAbilities = new ArrayList<>();
+    private final List<Unit> units = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private final List<Consumer<World>> effects = new ArrayList<>();
+
+    private int levelsLeft;
+    private DefaultHeroUnit heroUnit;
+    private DefaultUnit lastUnit;
+
+    WorldReader(DataLoader dataLoader) {
+      this.dataLoader = dataLoader;
+    }
+
+    void read(Record record) throws IOException {
+      DataInputStream in = record.read();
+      switch (record.type) {
+        case WORLD_RECORD:
+          levelsLeft = in.readInt();
+          break;
+        case ABILITY_RECORD:
+          readAbility(in);
+          break;
+        case HERO_RECORD:
+          readHero(in);
+          break;
+        case UNIT_RECORD:
+          readUnit(in);
+          break;
+        case EFFECT_RECORD:
+          readEffect(in);
+          break;
+        case ITEM_RECORD:
+          readItem(in);
+          break;
+        default:
+          throw new IOException("Unknown record type " + record.type);
+      }
+    }
+
+    private void readAbility(DataInputStream in) throws IOException {
+      boolean isItemAbility = in.readBoolean();
+      BaseAbility ability = buildAbility(in.readUTF(), in.readInt());
+      ability.setCoolDownTicksLeft(in.readInt());
+      (isItemAbility ? itemAbilities : abilities).add(ability);
+    }
+
+    private void readHero(DataInputStream in) throws IOException {
+      String type = in.readUTF();
+      MapPoint topLeft = new MapPoint(in.readDouble(), in.readDouble());
+      double health = in.readDouble();
+      heroUnit = new DefaultHeroUnit(
+          dataLoader.getDataForUnitType(type), topLeft, abilities, dataLoader, in.readInt()
+      );
+      heroUnit.setHealth(health);
+      itemAbilities.forEach(heroUnit::addItemAbility);
+      lastUnit = heroUnit;
+    }
+
+    private void readUnit(DataInputStream in) throws IOException {
+      String type = in.readUTF();
+      MapPoint topLeft = new MapPoint(in.readDouble(), in.readDouble());
+      double health = in.readDouble();
+      int level = in.readInt();
+      DefaultUnit unit = new DefaultUnit(
+          dataLoader.getDataForUnitType(type), topLeft, Team.valueOf(in.readUTF()), dataLoader,
+          level
+      );
+      unit.setHealth(health);
+      units.add(unit);
+      lastUnit = unit;
+    }
+
+    private void readEffect(DataInputStream in) throws IOException {
+      if (lastUnit == null) {
+        throw new IOException("Effect record before any unit record");
+      }
+      DefaultUnit unit = lastUnit;
+      String kind = in.readUTF();
+      // The rest of the record depends on the kind of effect
+      if (!DAMAGE_BUFF_EFFECT.equals(kind)) {
+        throw new IOException("Unknown effect " + kind);
+      }
+      int ticksLeft = in.readInt();
+      double amount = in.readDouble();
+      // A tick longer than what is left, so the time left isn't cut short by rounding
+      double durationSeconds = (ticksLeft + 1) * GameModel.DELAY / 1000D;
+      // Effects need the world, so they are added once it is made
+      effects.add(world -> {
+        DamageBuffEffect effect = new DamageBuffEffect(unit, world, durationSeconds, amount);
+        unit.addEffect(effect);
+        effect.setTicksLeft(ticksLeft);
+      });
+    }
+
+    private void readItem(DataInputStream in) throws IOException {
+      String name = in.readUTF();
+      String imageId = in.readUTF();
+      MapPoint topLeft = new MapPoint(in.readDouble(), in.readDouble());
+      BaseAbility ability = buildAbility(in.readUTF(), in.readInt());
+      items.add(new DefaultItem(topLeft, ability, dataLoader.getDataForImage(imageId), name));
+    }
+
+    private BaseAbility buildAbility(String id, int uses) {
+      return (BaseAbility) BaseAbility.buildAbility(
+          dataLoader.getDataForAbility(id), dataLoader, uses
+      );
+    }
+
+    World build() throws IOException {
+      if (heroUnit == null) {
+        throw new IOException("Save has no hero");
+      }
+      List<Level> levels = worldLoader.loadLevels(dataLoader);
+      if (levelsLeft < 1 || levelsLeft > levels.size()) {
+        throw new IOException(
+            "Save has " + levelsLeft + " levels left but there are " + levels.size()
+        );
+      }
+      int currentLevelIndex = levels.size() - levelsLeft;
+      Level currentLevel = levels.get(currentLevelIndex);
+
+      // The map entities of finished levels stay in the world
+      List<MapEntity> mapEntities = levels.subList(0, currentLevelIndex + 1)
+          .stream()
+          .flatMap(level -> level.getMapEntities().stream())
+          .collect(Collectors.toList());
+
+      List<Level> remainingLevels = new ArrayList<>();
+      remainingLevels.add(new Level(
+          currentLevel.getBounds(),
+          units,
+          items,
+          mapEntities,
+          currentLevel.getBorderEntities(),
+          currentLevel.getGoal(),
+          currentLevel.getGoalDescription()
+      ));
+      remainingLevels.addAll(levels.subList(currentLevelIndex + 1, levels.size()));
+
+      World world = new DefaultWorld(remainingLevels, heroUnit, new GridPathFinder());
+      effects.forEach(effect -> effect.accept(world));
+      return world;
+    }
+  }
+
+  /**
+   * Writes records, working out the length of each one before it is written.
+   */
+  private static class RecordWriter {
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+    private final DataOutputStream contentsOut = new DataOutputStream(contents);
+
+    RecordWriter(DataOutputStream out) {
+      this.out = out;
+    }
+
+    void write(int type, RecordContents recordContents) throws IOException {
+      contents.reset();
+      recordContents.writeTo(contentsOut);
+      contentsOut.flush();
+      out.writeByte(type);
+      out.writeInt(contents.size());
+      contents.writeTo(out);
+    }
+  }
+
+  private interface RecordContents {
+
+    void writeTo(DataOutputStream out) throws IOException;
+  }
+
+  /**
+   * A record that has been read, but not made into part of the world yet.
+   */
+  static class Record {
+
+    final int type;
+    final byte[] contents;
+
+    Record(int type, byte[] contents) {
+      this.type = type;
+      this.contents = contents;
+    }
+
+    DataInputStream read() {
+      return new DataInputStream(new ByteArrayInputStream(contents));
+    }
+  }
+
+  /**
+   * Changes the records of an old version of the format into the records of the next version.
+   */
+  interface Migration {
+
+    List<Record> migrate(List<Record> records) throws IOException;
+  }
+}
@@ -0,0 +1,75 @@
+package main.game.model.world.saveandload;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Saves and loads files in a directory on the computer.
+ *
+ * @author chongdyla
+ */
+public class DefaultFilesystem implements Filesystem {
+
+  private final String saveDirectory;
+
+  /**
+   * The main constructor for this class.
+   */
+  public DefaultFilesystem() {
+    this(WorldSaveModel.SAVE_FILE_DIRECTORY);
+  }
+
+  /**
+   * Constructor for saving and loading files in a different directory to the default one.
+   */
+  public DefaultFilesystem(String saveDirectory) {
+    if (!saveDirectory.endsWith("/")) {
+      throw new IllegalArgumentException();
+    }
+
+    this.saveDirectory = saveDirectory;
+  }
+
+  @Override
+  public <T> T load(String filename, Loader<T> loader) throws IOException {
+    File file = getFile(filename);
+
+    try (FileInputStream inputStream = new FileInputStream(file)) {
+      return loader.loadFromStream(inputStream);
+    }
+  }
+
+  @Override
+  public Collection<String> availableFilenames() {
+    File[] files = new File(saveDirectory)
+        .listFiles(File::isFile);
+
+    if (files == null) {
+      return Collections.emptyList();
+    }
+
+    return Arrays.stream(files)
+        .map(File::getName)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public void save(String filename, Saver saver) throws IOException {
+    File file = getFile(filename);
+    file.getParentFile().mkdirs();
+
+    try (FileOutputStream outputStream = new FileOutputStream(file)) {
+      saver.saveToStream(outputStream);
+    }
+  }
+
+  public File getFile(String filename) {
+    return new File(saveDirectory + filename);
+  }
+}
@@ -5,6 +5,7 @@ import static main.game.model.entity.usable.BaseAbility.INFINITE_USES;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import main.game.model.GameModel;
 import main.game.model.Level;
 import main.game.model.Level.Goal;
@@ -16,12 +17,13 @@ import main.game.model.entity.Projectile;
 import main.game.model.entity.Team;
 import main.game.model.entity.unit.DefaultHeroUnit;
 import main.game.model.entity.unit.DefaultUnit;
+import main.game.model.entity.unit.attack.AttackChecker;
 import main.game.model.entity.usable.BaseAbility;
 import main.game.model.entity.usable.DefaultItem;
 import main.game.model.entity.usable.Item;
 import main.game.model.world.DefaultWorld;
 import main.game.model.world.World;
-import main.game.model.world.pathfinder.DefaultPathFinder;
+import main.game.model.world.pathfinder.GridPathFinder;
 import main.util.MapPoint;
 import main.util.MapRect;
 import main.util.MapSize;
@@ -36,10 +38,30 @@ public class DefaultWorldLoader implements WorldLoader {
   private static final MapSize HERO_SIZE = new MapSize(0.9, 0.9);
   private static final MapSize STANDARD_UNIT_SIZE = new MapSize(0.5, 0.5);
 
+  private DataLoader dataLoader;
+
   @Override
   public World load() {
-    DataLoader dataLoader = new DataLoader();
-    return loadMultilevelWorld(dataLoader);
+    return loadMultilevelWorld(this.getDataLoader());
+  }
+
+  /**
+   * Gets the data that worlds are made from, loading and checking it the first time.
+   */
+  public synchronized DataLoader getDataLoader() {
+    if (this.dataLoader == null) {
+      DataLoader dataLoader = new DataLoader();
+      AttackChecker attackChecker = new AttackChecker(dataLoader);
+      dataLoader.timed("checking attacks", attackChecker::check);
+      dataLoader.timed("warming up attacks", attackChecker::warmUp);
+      this.dataLoader = dataLoader;
+    }
+    return this.dataLoader;
+  }
+
+  @Override
+  public String getLoadReport() {
+    return this.getDataLoader().getLoadReport();
   }
 
   /**
@@ -77,7 +99,13 @@ public class DefaultWorldLoader implements WorldLoader {
         dataLoader,
         3
     );
+    return new DefaultWorld(loadLevels(dataLoader), heroUnit, new GridPathFinder());
+  }
 
+  /**
+   * Creates the levels of {@link #loadMultilevelWorld(DataLoader)} from start to finish.
+   */
+  public List<Level> loadLevels(DataLoader dataLoader) {
     LinkedList<Level> levels = new LinkedList<>();
 
     MapRect bounds = new MapRect(new MapPoint(0, 0), new MapPoint(48, 15));
@@ -522,6 +550,6 @@ public class DefaultWorldLoader implements WorldLoader {
           "Gold ring is love. Gold ring is life"
       ));
     }
-    return new DefaultWorld(levels, heroUnit, new DefaultPathFinder());
+    return levels;
   }
 }
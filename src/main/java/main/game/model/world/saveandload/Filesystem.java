@@ -0,0 +1,36 @@
+package main.game.model.world.saveandload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+
+/**
+ * An adapter around the computer's file system.
+ *
+ * @author chongdyla
+ */
+public interface Filesystem {
+
+  /**
+   * Loads the text contents of the file.
+   *
+   * @param <T> The type to cast to.
+   * @param loader A function that loads the object from the stream and casts. The implementer of
+   *     this method should catch any {@link ClassCastException}.
+   * @param filename Filename without any slashes.
+   */
+  <T> T load(String filename, Loader<T> loader) throws IOException;
+
+  Collection<String> availableFilenames();
+
+  void save(String filename, Saver saver) throws IOException;
+
+  interface Loader<T> {
+    T loadFromStream(InputStream inputStream) throws IOException;
+  }
+
+  interface Saver {
+    void saveToStream(OutputStream outputStream) throws IOException;
+  }
+}
@@ -20,4 +20,11 @@ public interface WorldLoader {
    */
   World load();
 
+  /**
+   * Describes how long loading the data that worlds are made from took.
+   */
+  default String getLoadReport() {
+    return "";
+  }
+
 }
@@ -23,7 +23,7 @@ public interface WorldSaveModel {
   String SAVE_FILE_DIRECTORY = "./saves/";
 
   /**
-   * Stores the {@link World} (through serialisation).
+   * Stores the {@link World}.
    *
    * @param filename Name with no slashes is it.
    */
@@ -31,10 +31,10 @@ public interface WorldSaveModel {
       throws IOException;
 
   /**
-   * Serialises is the game saved under filename.
-   * @throws IOException E.g. when the file doesn't exist, or data is not deserialisable.
+   * Loads the game saved under filename.
+   * @throws IOException E.g. when the file doesn't exist, or data can't be read.
    */
-  World load(String filename) throws IOException, ClassNotFoundException;
+  World load(String filename) throws IOException;
 
   /**
    * Finds the file names of all the existing game saves. Each name has a SAVE_FILE_EXTENSION and
@@ -1,79 +1,152 @@
 package main.game.view;
 
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.TexturePaint;
 import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import main.util.Config;
 import main.util.MapPoint;
-import main.util.MapSize;
+import main.util.MapRect;
 
 /**
  * The View for the background.
+ *
+ * <p>
+ * The ground is drawn over the tiles of the current level in pre-drawn square chunks. A chunk
+ * is drawn the first time it is on screen and then kept, so scrolling only copies the few chunks
+ * that are on screen. The least recently drawn chunks are forgotten once there are more than a
+ * couple of screens worth. Chunks outside the level are never drawn because the fog of war covers
+ * them.
+ * </p>
+ *
+ * <p>
+ * Chunks are only used by the render thread.
+ * </p>
+ *
  * @author Andrew McGhie
  */
 public class BackGroundView {
 
+  private static final int CHUNK_SIZE = 256;
+
+  /**
+   * Stands in for chunks that have no ground in them.
+   */
+  private static final BufferedImage EMPTY_CHUNK = new BufferedImage(1, 1,
+      BufferedImage.TYPE_INT_ARGB_PRE);
+
   private final Config config;
   private final GameView gameView;
-  private final MapSize size;
-  private final BufferedImage background;
+  private final TexturePaint ground;
+  private final Map<Long, BufferedImage> chunks;
+
+  private MapRect chunkLevelBounds;
+  private Polygon levelShape;
 
   BackGroundView(Config config, GameView gameView, BufferedImage baseImage) {
     this.config = config;
     this.gameView = gameView;
-    this.size = new MapSize(config.getContextScreenWidth() * 2,
-        config.getContextScreenHeight() * 2);
-    this.background = new BufferedImage(config.getContextScreenWidth() * 2,
-        config.getContextScreenHeight() * 2,
-        BufferedImage.TYPE_4BYTE_ABGR);
-    background.getGraphics().drawImage(baseImage,
-        0,
-        0,
-        config.getContextScreenWidth(),
+    // The ground image covers the screen and repeats every screen
+    BufferedImage groundImage = new BufferedImage(config.getContextScreenWidth(),
         config.getContextScreenHeight(),
-        null);
-    background.getGraphics().drawImage(baseImage,
-        config.getContextScreenWidth(),
+        BufferedImage.TYPE_INT_ARGB_PRE);
+    Graphics2D g = groundImage.createGraphics();
+    g.drawImage(baseImage,
         0,
-        config.getContextScreenWidth(),
-        config.getContextScreenHeight(),
-        null);
-    background.getGraphics().drawImage(baseImage,
         0,
-        config.getContextScreenHeight(),
-        config.getContextScreenWidth(),
-        config.getContextScreenHeight(),
-        null);
-    background.getGraphics().drawImage(baseImage,
-        config.getContextScreenWidth(),
-        config.getContextScreenHeight(),
         config.getContextScreenWidth(),
         config.getContextScreenHeight(),
         null);
+    g.dispose();
+    this.ground = new TexturePaint(groundImage,
+        new Rectangle(0, 0, groundImage.getWidth(), groundImage.getHeight()));
+
+    int chunksOnScreen = (config.getContextScreenWidth() / CHUNK_SIZE + 2)
+        * (config.getContextScreenHeight() / CHUNK_SIZE + 2);
+    int maxChunks = chunksOnScreen * 2;
+    this.chunks = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+        return size() > maxChunks;
+      }
+    };
   }
 
   /**
-   * Gets the position that the background image should be drawn.
+   * Draws the ground that is in the view box.
    */
-  public MapPoint getImagePosition() {
-    double x = gameView.getViewBox().x() < 0
-        ? - gameView.getViewBox().x() % config.getContextScreenWidth()
-        : config.getContextScreenWidth()
-            - gameView.getViewBox().x() % config.getContextScreenWidth();
-    double y = gameView.getViewBox().y() < 0
-        ? - gameView.getViewBox().y() % config.getContextScreenHeight()
-        : config.getContextScreenHeight()
-            - gameView.getViewBox().y() % config.getContextScreenHeight();
-    return new MapPoint(
-        x - config.getContextScreenWidth(),
-        y - config.getContextScreenHeight());
-  }
+  public void draw(Graphics2D g, MapRect viewBox) {
+    MapRect levelBounds = this.gameView.getLevelBounds();
+    if (!levelBounds.equals(this.chunkLevelBounds)) {
+      this.chunks.clear();
+      this.chunkLevelBounds = levelBounds;
+      this.levelShape = levelShape(levelBounds);
+    }
 
+    int minChunkX = (int) Math.floor(viewBox.topLeft.x / CHUNK_SIZE);
+    int minChunkY = (int) Math.floor(viewBox.topLeft.y / CHUNK_SIZE);
+    int maxChunkX = (int) Math.floor(viewBox.bottomRight.x / CHUNK_SIZE);
+    int maxChunkY = (int) Math.floor(viewBox.bottomRight.y / CHUNK_SIZE);
+    for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+      for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+        BufferedImage chunk = this.getChunk(chunkX, chunkY);
+        if (chunk != EMPTY_CHUNK) {
+          g.drawImage(chunk,
+              (int) Math.round(chunkX * CHUNK_SIZE - viewBox.topLeft.x),
+              (int) Math.round(chunkY * CHUNK_SIZE - viewBox.topLeft.y),
+              null);
+        }
+      }
+    }
+  }
 
-  public MapSize getImageSize() {
-    return this.size;
+  private BufferedImage getChunk(int chunkX, int chunkY) {
+    long key = ((long) chunkX << 32) | (chunkY & 0xffffffffL);
+    BufferedImage chunk = this.chunks.get(key);
+    if (chunk == null) {
+      chunk = this.drawChunk(chunkX, chunkY);
+      this.chunks.put(key, chunk);
+    }
+    return chunk;
   }
 
+  private BufferedImage drawChunk(int chunkX, int chunkY) {
+    Rectangle area = new Rectangle(chunkX * CHUNK_SIZE, chunkY * CHUNK_SIZE,
+        CHUNK_SIZE, CHUNK_SIZE);
+    if (!this.levelShape.intersects(area)) {
+      return EMPTY_CHUNK;
+    }
+    BufferedImage chunk = new BufferedImage(CHUNK_SIZE, CHUNK_SIZE,
+        BufferedImage.TYPE_INT_ARGB_PRE);
+    Graphics2D g = chunk.createGraphics();
+    // Draw in map pixels so the ground lines up across chunks
+    g.translate(-area.x, -area.y);
+    g.setPaint(this.ground);
+    g.fill(this.levelShape);
+    g.dispose();
+    return chunk;
+  }
 
-  public BufferedImage getImage() {
-    return this.background;
+  /**
+   * Gets the outline of the level's tiles in map pixels.
+   */
+  private Polygon levelShape(MapRect levelBounds) {
+    MapPoint[] corners = {
+        levelBounds.topLeft,
+        new MapPoint(levelBounds.bottomRight.x, levelBounds.topLeft.y),
+        levelBounds.bottomRight,
+        new MapPoint(levelBounds.topLeft.x, levelBounds.bottomRight.y)
+    };
+    Polygon shape = new Polygon();
+    for (MapPoint corner : corners) {
+      MapPoint pixel = EntityView.tileToPix(corner, this.config);
+      shape.addPoint((int) Math.round(pixel.x), (int) Math.round(pixel.y));
+    }
+    return shape;
   }
 }
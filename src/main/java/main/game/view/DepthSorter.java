@@ -0,0 +1,109 @@
+package main.game.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorts render states into the order they should be drawn in: back layers first, then further
+ * away (smaller x + y) before closer.
+ *
+ * <p>
+ * Each state's layer, depth and index are packed into one long so sorting compares primitives
+ * instead of working out positions on every comparison. Things only move a little between frames,
+ * so the order from the last frame is kept and fixed with an insertion sort. If that would take
+ * too many moves (e.g. the first frame) a full sort is done instead.
+ * </p>
+ *
+ * @author agent
+ */
+class DepthSorter {
+
+  private static final int INDEX_BITS = 23;
+  private static final int DEPTH_BITS = 32;
+  private static final int MAX_LAYER = 255;
+
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+  private static final long MAX_DEPTH_KEY = (1L << DEPTH_BITS) - 1;
+
+  /**
+   * How many fractions of a tile apart two depths need to be to be sorted apart.
+   */
+  private static final double DEPTH_PRECISION = 256;
+
+  /**
+   * The most moves per state the insertion sort is allowed before giving up on it.
+   */
+  private static final int MAX_MOVES_PER_STATE = 8;
+
+  private long[] order = new long[0];
+
+  /**
+   * Sorts the states for drawing at the current time.
+   *
+   * @param states the states from the last tick
+   * @return a new list with the states in the order to draw them in
+   */
+  synchronized List<RenderState> sort(List<RenderState> states, long currentTime) {
+    int size = states.size();
+    if (size > INDEX_MASK) {
+      throw new IllegalArgumentException("Too many states to sort: " + size);
+    }
+    boolean canReuseOrder = this.order.length == size;
+    if (!canReuseOrder) {
+      this.order = new long[size];
+      for (int i = 0; i < size; i++) {
+        this.order[i] = i;
+      }
+    }
+
+    // The indexes stay where they were last frame, only their keys are updated
+    for (int i = 0; i < size; i++) {
+      int index = (int) (this.order[i] & INDEX_MASK);
+      this.order[i] = sortKey(states.get(index), currentTime) | index;
+    }
+    if (!canReuseOrder || !insertionSort(this.order, size * MAX_MOVES_PER_STATE)) {
+      Arrays.sort(this.order);
+    }
+
+    List<RenderState> sorted = new ArrayList<>(size);
+    for (long key : this.order) {
+      sorted.add(states.get((int) (key & INDEX_MASK)));
+    }
+    return sorted;
+  }
+
+  /**
+   * Sorts the keys, giving up once it has moved them more than maxMoves times.
+   *
+   * @return whether the keys were sorted.
+   */
+  private static boolean insertionSort(long[] keys, int maxMoves) {
+    int moves = 0;
+    for (int i = 1; i < keys.length; i++) {
+      long key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        keys[j + 1] = keys[j];
+        j--;
+        if (++moves > maxMoves) {
+          keys[j + 1] = key;
+          return false;
+        }
+      }
+      keys[j + 1] = key;
+    }
+    return true;
+  }
+
+  /**
+   * Packs the layer (higher layers first) and depth into the bits above the index.
+   */
+  private static long sortKey(RenderState state, long currentTime) {
+    long layerKey = MAX_LAYER - Math.max(0, Math.min(MAX_LAYER, state.getLayer()));
+    long depthKey = (long) Math.floor(state.getDepth(currentTime) * DEPTH_PRECISION)
+        + (1L << (DEPTH_BITS - 1));
+    depthKey = Math.max(0, Math.min(MAX_DEPTH_KEY, depthKey));
+    return (layerKey << (DEPTH_BITS + INDEX_BITS)) | (depthKey << INDEX_BITS);
+  }
+}
@@ -4,57 +4,157 @@ import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.util.Collection;
+import java.awt.image.DataBufferInt;
+import main.game.model.world.VisibilityGrid;
 import main.util.Config;
 import main.util.MapPoint;
+import main.util.MapRect;
 import main.util.MapSize;
+import main.util.TripleBuffer;
 
 /**
  * Represents the fog of war that covers anything that the player doesnt have a unit close enough.
+ *
+ * <p>
+ * What can be seen is kept in the world's {@link VisibilityGrid}. The grid is turned into a small
+ * mask with one pixel per cell, which is stretched over the screen with bilinear filtering so the
+ * edges of the fog are soft. Places that have been seen before but can't be seen now are covered by
+ * a lighter fog. The screen mask is only redrawn when the grid or the view box changes.
+ * </p>
+ *
+ * <p>
+ * Screen masks are handed from the game model thread to the renderer through a
+ * {@link TripleBuffer}, so a mask is never drawn on while it is shown.
+ * </p>
+ *
  * @author Andrew McGhie
  */
 public class FogOfWarView {
 
+  /**
+   * How see through the fog is over places that have been seen before (255 is not at all).
+   */
+  private static final int EXPLORED_ALPHA = 200;
+
+  private final Config config;
   private final Color baseColor;
   private final MapPoint origin = new MapPoint(0, 0);
   private final MapSize size;
+  private final TripleBuffer<BufferedImage> screenMasks;
 
-  private BufferedImage fowMask;
+  // Only used on the game model thread
+  private VisibilityGrid visibilityGrid;
+  private int lastGridVersion;
+  private BufferedImage cellMask;
+  private int[] cellMaskPixels;
+  private MapRect lastViewBox;
+
+  // Only used by the renderer
+  private boolean hasFront = false;
 
   FogOfWarView(Config config) {
+    this.config = config;
     this.size = new MapSize(config.getContextScreenWidth(), config.getContextScreenHeight());
     this.baseColor = config.getBaseFogOfWarColor();
+    this.screenMasks = new TripleBuffer<>(() -> new BufferedImage((int)this.size.width,
+        (int)this.size.height,
+        BufferedImage.TYPE_INT_ARGB_PRE));
   }
 
   /**
    * Recalculates what the fog of war should cover and what it should display.
    */
-  void calculate(Collection<UnitView> unitViews, GameView gameView, long currentTime) {
-    this.fowMask = new BufferedImage((int)this.size.width,
-        (int)this.size.height,
-        BufferedImage.TYPE_4BYTE_ABGR);
-    Graphics2D g = ((Graphics2D) this.fowMask.getGraphics());
+  void calculate(VisibilityGrid visibilityGrid, MapRect viewBox) {
+    boolean hasGridChanged;
+    if (this.visibilityGrid != visibilityGrid) {
+      // New level
+      this.visibilityGrid = visibilityGrid;
+      this.cellMask = new BufferedImage(this.visibilityGrid.getColumns(),
+          this.visibilityGrid.getRows(),
+          BufferedImage.TYPE_INT_ARGB_PRE);
+      this.cellMaskPixels = ((DataBufferInt) this.cellMask.getRaster().getDataBuffer()).getData();
+      hasGridChanged = true;
+    } else {
+      hasGridChanged = this.visibilityGrid.getVersion() != this.lastGridVersion;
+    }
+
+    if (hasGridChanged) {
+      this.lastGridVersion = this.visibilityGrid.getVersion();
+      this.updateCellMask();
+    }
+    if (hasGridChanged || !viewBox.equals(this.lastViewBox)) {
+      this.lastViewBox = viewBox;
+      this.drawScreenMask(viewBox);
+    }
+  }
+
+  private void updateCellMask() {
+    int hidden = premultiply(255);
+    int explored = premultiply(EXPLORED_ALPHA);
+    int columns = this.visibilityGrid.getColumns();
+    for (int row = 0; row < this.visibilityGrid.getRows(); row++) {
+      for (int column = 0; column < columns; column++) {
+        int pixel;
+        if (this.visibilityGrid.isVisible(column, row)) {
+          pixel = 0;
+        } else if (this.visibilityGrid.isExplored(column, row)) {
+          pixel = explored;
+        } else {
+          pixel = hidden;
+        }
+        this.cellMaskPixels[row * columns + column] = pixel;
+      }
+    }
+  }
+
+  /**
+   * Covers the back mask with fog then replaces the part over the level with the cell mask, and
+   * hands it over to the renderer.
+   */
+  private void drawScreenMask(MapRect viewBox) {
+    BufferedImage screenMask = this.screenMasks.getBack();
+
+    Graphics2D g = screenMask.createGraphics();
+    g.setComposite(AlphaComposite.Src);
     g.setColor(this.baseColor);
     g.fillRect(0, 0, (int)this.size.width, (int)this.size.height);
+    g.setRenderingHint(
+        RenderingHints.KEY_INTERPOLATION,
+        RenderingHints.VALUE_INTERPOLATION_BILINEAR
+    );
+    g.drawImage(this.cellMask, this.cellToScreen(viewBox), null);
+    g.dispose();
+    this.screenMasks.publish();
+  }
 
-    g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC, 0F));
-    g.setColor(new Color(255,255,255, 0));
-    RenderingHints rh = new RenderingHints(
-        RenderingHints.KEY_ANTIALIASING,
-        RenderingHints.VALUE_ANTIALIAS_ON
+  /**
+   * The same as {@link EntityView#tileToPix(MapPoint, Config)} but for cells, then moved by the
+   * view box.
+   */
+  private AffineTransform cellToScreen(MapRect viewBox) {
+    double halfTileWidth = this.config.getEntityViewTilePixelsX() / 2D;
+    double halfTileHeight = this.config.getEntityViewTilePixelsY() / 2D;
+    double cellWidth = halfTileWidth / VisibilityGrid.CELLS_PER_TILE;
+    double cellHeight = halfTileHeight / VisibilityGrid.CELLS_PER_TILE;
+    MapPoint gridOrigin = this.visibilityGrid.getBounds().topLeft;
+    return new AffineTransform(
+        cellWidth,
+        cellHeight,
+        -cellWidth,
+        cellHeight,
+        halfTileWidth * (gridOrigin.x - gridOrigin.y) - viewBox.x(),
+        halfTileHeight * (gridOrigin.x + gridOrigin.y) - viewBox.y()
     );
-    g.setRenderingHints(rh);
-    unitViews.forEach(unitView -> {
-      MapPoint position = unitView.getImagePosition(currentTime);
-      MapSize imageSize = unitView.getImageSize();
-      MapSize los = unitView.getLos();
-      g.fillOval(
-          (int)(position.x + imageSize.width / 2 - gameView.getViewBox().x() - los.width / 2),
-          (int)(position.y + imageSize.height / 2 - gameView.getViewBox().y() - los.height / 2),
-          (int)los.width,
-          (int)los.height);
-    });
+  }
+
+  private int premultiply(int alpha) {
+    alpha = alpha * this.baseColor.getAlpha() / 255;
+    return alpha << 24
+        | (this.baseColor.getRed() * alpha / 255) << 16
+        | (this.baseColor.getGreen() * alpha / 255) << 8
+        | (this.baseColor.getBlue() * alpha / 255);
   }
 
   public MapPoint getImagePosition(long currentTime) {
@@ -67,7 +167,16 @@ public class FogOfWarView {
   }
 
 
+  /**
+   * Gets the latest mask. Only called by the renderer, and the mask it returns is not drawn on
+   * again until the renderer calls this again.
+   *
+   * @return the mask, or null if none has been drawn yet.
+   */
   public BufferedImage getImage() {
-    return this.fowMask;
+    if (this.screenMasks.takeNew()) {
+      this.hasFront = true;
+    }
+    return this.hasFront ? this.screenMasks.getFront() : null;
   }
 }
@@ -2,20 +2,15 @@ package main.game.view;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
 import main.game.controller.GameController;
 import main.game.model.GameModel;
 import main.game.model.entity.Unit;
 import main.game.model.entity.usable.Ability;
 import main.game.model.world.World;
-import main.game.view.EntityView.EntityRenderableComparator;
 import main.menu.controller.events.AbilityIconClick;
 import main.menu.controller.events.ItemIconClick;
 import main.menu.controller.events.MouseClick;
@@ -43,18 +38,23 @@ public class GameView {
   private final GameModel model;
   private final World world;
 
-  private MapRect viewBox;
-  private MapPoint mousePosition;
+  private volatile MapRect viewBox;
+  private volatile MapRect levelBounds;
+  private volatile MapPoint mousePosition;
 
   /**
-   * {@link CopyOnWriteArrayList} is required to avoid modifications to the list while
-   * {@link main.renderer.DefaultRenderer} is reading it. To avoid unnecessary amounts of copying,
-   * if
-   * adding a large amount of items to this list, prefer using {@link List#addAll(Collection)}
-   * rather than calling {@link List#add(Object)} for each element.
+   * Only used on the game model thread, the renderer reads {@link #renderStates} instead.
    */
-  private List<Renderable> renderablesCache = new CopyOnWriteArrayList<>();
-  private FogOfWarView fogOfWarView;
+  private final RenderList renderablesCache = new RenderList();
+
+  /**
+   * The render states of every renderable as of the last tick. Published as a whole once the tick
+   * is done and never changed afterwards, so the renderer can read it without locking.
+   */
+  private volatile List<RenderState> renderStates = Collections.emptyList();
+  private final DepthSorter depthSorter = new DepthSorter();
+
+  private final FogOfWarView fogOfWarView;
   private final BackGroundView backGroundView;
 
   /**
@@ -69,6 +69,7 @@ public class GameView {
     this.gameController = gameController;
     this.model = model;
     this.world = world;
+    this.levelBounds = world.getCurrentLevelBounds();
     MapPoint initialPositionPixel = EntityView.tileToPix(world.getHeroUnit().getCentre(), config);
     this.viewBox = new MapRect(initialPositionPixel.x - this.config.getContextScreenWidth() / 2 ,
         initialPositionPixel.y - this.config.getContextScreenHeight() / 2,
@@ -89,16 +90,19 @@ public class GameView {
     }
   }
 
-  public synchronized List<Renderable> getRenderables(long currentTime) {
-    this.renderablesCache.sort(new EntityRenderableComparator(currentTime));
-    return Collections.unmodifiableList(this.renderablesCache);
+  /**
+   * Gets what to draw as of the last tick, sorted into the order to draw it in.
+   * Safe to call from any thread.
+   */
+  public List<RenderState> getRenderStates(long currentTime) {
+    return this.depthSorter.sort(this.renderStates, currentTime);
   }
 
-  public synchronized FogOfWarView getFogOfWarView() {
+  public FogOfWarView getFogOfWarView() {
     return this.fogOfWarView;
   }
 
-  public synchronized BackGroundView getBackGroundView() {
+  public BackGroundView getBackGroundView() {
     return this.backGroundView;
   }
 
@@ -106,30 +110,27 @@ public class GameView {
    * called when the Main Game Loop ticks. It updates the current renderables.
    * @param tickTime the time that the tick happened.
    */
-  private synchronized void updateRenderables(long tickTime) {
-    renderablesCache.addAll(
-        this.model.getWorld().recieveRecentlyAddedEntities().stream()
-          .map(entity -> {
-            Renderable renderable = ViewFactory.makeEntityView(this.config, entity);
-            entity.getRemovedEvent().registerListener(Void -> renderablesCache.remove(renderable));
-            return renderable;
-          })
-          .collect(Collectors.toSet())
-    );
-    this.renderablesCache.forEach(entityView -> entityView.onTick(tickTime, model));
+  private void updateRenderables(long tickTime) {
+    this.model.getWorld().recieveRecentlyAddedEntities().forEach(entity -> {
+      Renderable renderable = ViewFactory.makeEntityView(this.config, entity);
+      entity.getRemovedEvent().registerListener(Void -> renderablesCache.remove(renderable));
+      renderablesCache.add(renderable);
+    });
+    this.renderablesCache.compact();
 
-    // Update FoW
+    List<RenderState> renderStates = new ArrayList<>(this.renderablesCache.size());
+    this.renderablesCache.forEach(renderable -> {
+      renderable.onTick(tickTime, model);
+      renderStates.add(renderable.getRenderState());
+    });
+    this.renderStates = Collections.unmodifiableList(renderStates);
 
-    Set<UnitView> revealingUnits = new HashSet<>();
-    this.renderablesCache
-        .stream()
-        .filter(entityView -> entityView instanceof UnitView)
-        .filter(unitView -> ((UnitView) unitView).revealsFogOfWar())
-        .forEach(unitView -> revealingUnits.add((UnitView)unitView));
-    fogOfWarView.calculate(revealingUnits, this, tickTime);
+    // Update FoW
+    this.levelBounds = this.world.getCurrentLevelBounds();
+    fogOfWarView.calculate(this.world.getVisibilityGrid(), this.viewBox);
   }
 
-  private synchronized void updateViewBoxPosition() {
+  private void updateViewBoxPosition() {
     double dx = 0;
     double dy = 0;
     if (this.mousePosition.x <= SCROLL_AREA_WIDTH)  {
@@ -194,6 +195,13 @@ public class GameView {
     return this.viewBox;
   }
 
+  /**
+   * Gets the bounds of the level as of the last tick.
+   */
+  public MapRect getLevelBounds() {
+    return this.levelBounds;
+  }
+
   public void updateMousePosition(int x, int y) {
     this.mousePosition = new MapPoint(x, y);
   }
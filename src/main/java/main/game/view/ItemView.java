@@ -19,7 +19,9 @@ public class ItemView extends EntityView {
   }
 
   @Override
-  public void drawDecorationsOntop(Graphics2D g, int x, int y, int width, int height) {
+  public void drawDecorationsOntop(
+      Graphics2D g, RenderState state, int x, int y, int width, int height
+  ) {
     LineMetrics lineMetrics =
         g.getFont().getLineMetrics(this.item.getName(), g.getFontRenderContext());
     int stringHeight = (int)lineMetrics.getHeight();
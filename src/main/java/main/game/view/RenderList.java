@@ -0,0 +1,83 @@
+package main.game.view;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The renderables in a {@link GameView}, in no particular order.
+ *
+ * <p>
+ * Adding and removing are both constant time. Removing leaves an empty slot behind instead of
+ * shifting everything after it down, and the empty slots are squeezed out once per tick by
+ * {@link #compact()}. Because nothing moves until then, renderables can be removed (e.g. by an
+ * entity's removed event) while the list is being looped over.
+ * </p>
+ *
+ * <p>
+ * This is only used on the game model thread.
+ * </p>
+ *
+ * @author agent
+ */
+class RenderList {
+
+  private final List<Renderable> slots = new ArrayList<>();
+  private final Map<Renderable, Integer> slotIndexes = new IdentityHashMap<>();
+  private int emptySlotCount = 0;
+
+  void add(Renderable renderable) {
+    if (slotIndexes.containsKey(renderable)) {
+      return;
+    }
+    slotIndexes.put(renderable, slots.size());
+    slots.add(renderable);
+  }
+
+  void remove(Renderable renderable) {
+    Integer index = slotIndexes.remove(renderable);
+    if (index != null) {
+      slots.set(index, null);
+      emptySlotCount++;
+    }
+  }
+
+  int size() {
+    return slotIndexes.size();
+  }
+
+  /**
+   * Calls the action on every renderable. Renderables added during the loop are not included.
+   */
+  void forEach(Consumer<Renderable> action) {
+    int size = slots.size();
+    for (int i = 0; i < size; i++) {
+      Renderable renderable = slots.get(i);
+      if (renderable != null) {
+        action.accept(renderable);
+      }
+    }
+  }
+
+  /**
+   * Removes the empty slots left behind by {@link #remove(Renderable)}.
+   */
+  void compact() {
+    if (emptySlotCount == 0) {
+      return;
+    }
+    int next = 0;
+    for (int i = 0; i < slots.size(); i++) {
+      Renderable renderable = slots.get(i);
+      if (renderable != null) {
+        slots.set(next, renderable);
+        slotIndexes.put(renderable, next);
+        next++;
+      }
+    }
+    slots.subList(next, slots.size()).clear();
+    emptySlotCount = 0;
+  }
+}
@@ -0,0 +1,181 @@
+package main.game.view;
+
+import java.awt.Graphics2D;
+import main.game.model.data.dataobject.ImageData;
+import main.util.Config;
+import main.util.MapPoint;
+import main.util.MapSize;
+
+/**
+ * Everything the renderer needs to draw a {@link Renderable} as it was at the end of a tick.
+ *
+ * <p>
+ * States are made on the game model thread and never change, so the renderer can read them
+ * without locking while the model moves on to the next tick. Each state keeps the position from
+ * the tick before too, so the renderer can animate between the two latest ticks.
+ * </p>
+ *
+ * @author agent
+ */
+public final class RenderState {
+
+  private final Config config;
+  private final Renderable renderable;
+  private final long tickTime;
+  private final MapPoint oldPosition;
+  private final MapPoint destination;
+  private final MapSize size;
+  private final ImageData image;
+  private final int layer;
+  private final double healthPercent;
+  private final boolean isSelected;
+
+  RenderState(
+      Config config,
+      Renderable renderable,
+      long tickTime,
+      MapPoint oldPosition,
+      MapPoint destination,
+      MapSize size,
+      ImageData image,
+      int layer,
+      double healthPercent,
+      boolean isSelected
+  ) {
+    this.config = config;
+    this.renderable = renderable;
+    this.tickTime = tickTime;
+    this.oldPosition = oldPosition;
+    this.destination = destination;
+    this.size = size;
+    this.image = image;
+    this.layer = layer;
+    this.healthPercent = healthPercent;
+    this.isSelected = isSelected;
+  }
+
+  /**
+   * Makes the state for the tick after this one.
+   */
+  RenderState next(
+      long tickTime,
+      MapPoint destination,
+      MapSize size,
+      ImageData image,
+      double healthPercent,
+      boolean isSelected
+  ) {
+    return new RenderState(
+        config, renderable, tickTime, this.destination, destination, size, image, layer,
+        healthPercent, isSelected
+    );
+  }
+
+  /**
+   * Get the position that the image should be drawn at.
+   */
+  public MapPoint getImagePosition(long currentTime) {
+    MapPoint entityScreenPosition = this.getEntityScreenPosition(currentTime);
+    MapSize entityScreenSize = this.getEntityScreenSize();
+
+    int spritePosX = (int)(entityScreenPosition.x
+        - entityScreenSize.width * this.image.getWestOverflow());
+    int spritePosY = (int)(entityScreenPosition.y
+        - entityScreenSize.height * this.image.getNorthOverflow());
+
+    return new MapPoint(spritePosX, spritePosY);
+  }
+
+  /**
+   * Gets the size of the image to draw.
+   */
+  public MapSize getImageSize() {
+    MapSize entitySize = this.getEntityScreenSize();
+    int spriteWidth = (int)(entitySize.width
+        + entitySize.width * image.getEastOverflow()
+        + entitySize.width * image.getWestOverflow());
+    int spriteHeight = (int)(entitySize.height
+        + entitySize.height * image.getNorthOverflow()
+        + entitySize.height * image.getSouthOverflow());
+
+    return new MapSize(spriteWidth, spriteHeight);
+  }
+
+  /**
+   * Gets the position in pixels of the entity.
+   * Does not adjust for viewbox changes.
+   */
+  public MapPoint getEntityScreenPosition(long currentTime) {
+    return EntityView.tileToPix(this.getEffectiveEntityPosition(currentTime), config);
+  }
+
+  /**
+   * Gets the size of the entity in pixels.
+   */
+  public MapSize getEntityScreenSize() {
+    return new MapSize(
+        (int)(this.size.width * this.config.getEntityViewTilePixelsX()),
+        (int)(this.size.height * this.config.getEntityViewTilePixelsY())
+    );
+  }
+
+  /**
+   * Calculates where the entity is between its last two positions at the current time.
+   * This is the position relative to the map not the screen.
+   */
+  public MapPoint getEffectiveEntityPosition(long currentTime) {
+    double animationMultiplyer = this.getAnimationMultiplyer(currentTime);
+    double deltaX = (this.destination.x - this.oldPosition.x) * animationMultiplyer;
+    double deltaY = (this.destination.y - this.oldPosition.y) * animationMultiplyer;
+    return new MapPoint(oldPosition.x + deltaX, oldPosition.y + deltaY);
+  }
+
+  /**
+   * Gets how far back the entity is at the current time, further away things have smaller depths.
+   * The same as x + y of the effective entity position.
+   */
+  public double getDepth(long currentTime) {
+    double animationMultiplyer = this.getAnimationMultiplyer(currentTime);
+    double oldDepth = this.oldPosition.x + this.oldPosition.y;
+    double depth = this.destination.x + this.destination.y;
+    return oldDepth + (depth - oldDepth) * animationMultiplyer;
+  }
+
+  private double getAnimationMultiplyer(long currentTime) {
+    return 1D - (((double)this.tickTime)
+        - ((double)currentTime)) / ((double)this.config.getGameModelDelay());
+  }
+
+  public ImageData getImage() {
+    return this.image;
+  }
+
+  /**
+   * Gets the layer to draw on. The smaller the number the closer to the front.
+   */
+  public int getLayer() {
+    return this.layer;
+  }
+
+  public double getHealthPercent() {
+    return this.healthPercent;
+  }
+
+  public boolean isSelected() {
+    return this.isSelected;
+  }
+
+  /**
+   * Draws the decorations that go beneath all entities.
+   */
+  public void drawDecorationsBeneth(Graphics2D g, int x, int y, int width, int height) {
+    this.renderable.drawDecorationsBeneth(g, this, x, y, width, height);
+  }
+
+  /**
+   * Draws the decorations that go ontop of all entities.
+   */
+  public void drawDecorationsOntop(Graphics2D g, int x, int y, int width, int height) {
+    this.renderable.drawDecorationsOntop(g, this, x, y, width, height);
+  }
+}
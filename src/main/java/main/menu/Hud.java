@@ -6,17 +6,19 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
 import javax.xml.bind.DatatypeConverter;
 import main.Main;
-import main.game.model.GameModel;
 import main.game.model.entity.Unit;
 import main.game.model.entity.usable.Ability;
 import main.game.view.GameView;
+import main.menu.HudSnapshot.AbilityIcon;
+import main.menu.HudSnapshot.UnitIcon;
 import main.menu.controller.HudController;
 import main.menu.controller.HudController.SaveFunction;
 import main.menu.generators.GoalTextGenerator;
@@ -32,7 +34,6 @@ import main.util.Config;
 public class Hud extends Menu {
 
   private final Main main;
-  private final GameModel gameModel;
   private final GoalTextGenerator goalScript = new GoalTextGenerator();
   private List<Unit> unitsShowingIcons = new CopyOnWriteArrayList<>();
   private List<Ability> abilitiesShowingIcons = new CopyOnWriteArrayList<>();
@@ -42,11 +43,9 @@ public class Hud extends Menu {
              MainMenu mainMenu,
              GameView gameView,
              Renderer renderer,
-             GameModel gameModel,
              SaveFunction saveFunction,
              Config config) {
     this.main = main;
-    this.gameModel = gameModel;
     this.menuController = new HudController(main,
         mainMenu,
         gameView,
@@ -84,72 +83,82 @@ public class Hud extends Menu {
   }
 
 
-  public void updateGoal(String goal) {
+  /**
+   * Updates the goal and the icons that are displayed in the HUD. Called on the JavaFX thread with
+   * the latest snapshot from the game model thread.
+   */
+  public void update(HudSnapshot snapshot) {
+    this.updateGoal(snapshot.getGoal());
+    this.updateIcons(snapshot);
+  }
+
+  private void updateGoal(String goal) {
     this.main.executeScript(goalScript.setText(goal).getScript());
   }
 
   /**
    * Upate the icons that are displayed in the HUD.
    */
-  public void updateIcons() {
-    Collection<Unit> selectedUnits = this.gameModel.getUnitSelection();
-    selectedUnits.stream()
+  private void updateIcons(HudSnapshot snapshot) {
+    Map<Unit, UnitIcon> unitIcons = new HashMap<>();
+    snapshot.getUnits().forEach(icon -> unitIcons.put(icon.getUnit(), icon));
+    Map<Ability, AbilityIcon> abilityIcons = new HashMap<>();
+    snapshot.getAbilities().forEach(icon -> abilityIcons.put(icon.getAbility(), icon));
+    Map<Ability, AbilityIcon> itemIcons = new HashMap<>();
+    snapshot.getItems().forEach(icon -> itemIcons.put(icon.getAbility(), icon));
+
+    snapshot.getUnits().stream()
+        .map(UnitIcon::getUnit)
         .filter(unit -> !this.unitsShowingIcons.contains(unit))
         .forEach(unit -> {
           addUnitIcon(unit);
           this.unitsShowingIcons.add(unit);
         });
     this.unitsShowingIcons.stream()
-        .filter(unit -> !selectedUnits.contains(unit) || unit.getHealth() == 0)
+        .filter(unit -> !unitIcons.containsKey(unit))
         .forEach(unit -> {
           int index = this.unitsShowingIcons.indexOf(unit);
           this.main.callJsFunction("removeUnitIcon", index);
           this.unitsShowingIcons.remove(unit);
         });
 
-
-    Collection<Ability> visibleAbilities;
-    if (gameModel.getUnitSelection().contains(this.gameModel.getHeroUnit())) {
-      visibleAbilities = this.gameModel.getHeroUnit().getAbilities();
-    } else {
-      visibleAbilities = Collections.emptySet();
-    }
-    visibleAbilities.stream()
+    snapshot.getAbilities().stream()
+        .map(AbilityIcon::getAbility)
         .filter(ability -> !this.abilitiesShowingIcons.contains(ability))
         .forEach(ability -> {
           addAbilityIcon(ability);
           this.abilitiesShowingIcons.add(ability);
         });
     this.abilitiesShowingIcons.stream()
-        .filter(ability -> !visibleAbilities.contains(ability))
+        .filter(ability -> !abilityIcons.containsKey(ability))
         .forEach(ability -> {
           int index = this.abilitiesShowingIcons.indexOf(ability);
           this.main.callJsFunction("removeAbilityIcon", index);
           this.abilitiesShowingIcons.remove(ability);
         });
 
-
-    Collection<Ability> visibleItems;
-    if (gameModel.getUnitSelection().contains(this.gameModel.getHeroUnit())) {
-      visibleItems = this.gameModel.getHeroUnit().getItemAbilities();
-    } else {
-      visibleItems = Collections.emptySet();
-    }
-    visibleItems.stream()
+    snapshot.getItems().stream()
+        .map(AbilityIcon::getAbility)
         .filter(itemAbility -> !this.itemsShowingIcons.contains(itemAbility))
         .forEach(itemAbility -> {
           addItemIcon(itemAbility);
           this.itemsShowingIcons.add(itemAbility);
         });
     this.itemsShowingIcons.stream()
-        .filter(item -> !visibleItems.contains(item))
+        .filter(item -> !itemIcons.containsKey(item))
         .forEach(item -> {
           int index = this.itemsShowingIcons.indexOf(item);
           this.main.callJsFunction("removeItemIcon", index);
           this.itemsShowingIcons.remove(item);
         });
 
-    this.main.callJsFunction("updateIcons");
+    // The stats are passed in the same order as the icons are shown
+    this.main.callJsFunction(
+        "updateIcons",
+        this.unitsShowingIcons.stream().map(unitIcons::get).collect(Collectors.toList()),
+        this.abilitiesShowingIcons.stream().map(abilityIcons::get).collect(Collectors.toList()),
+        this.itemsShowingIcons.stream().map(itemIcons::get).collect(Collectors.toList())
+    );
   }
 
   private void addUnitIcon(Unit unit) {
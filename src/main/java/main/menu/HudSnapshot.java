@@ -0,0 +1,191 @@
+package main.menu;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import main.game.model.GameModel;
+import main.game.model.entity.Unit;
+import main.game.model.entity.unit.attack.Attack;
+import main.game.model.entity.usable.Ability;
+import main.game.model.world.World;
+
+/**
+ * Everything the {@link Hud} shows, as it was at the end of a tick.
+ *
+ * <p>
+ * Snapshots are made on the game model thread and never change, so the HUD can be updated on the
+ * JavaFX thread without reading the model while the next tick changes it. The units and abilities
+ * themselves are only kept so the icons can tell which ones they are for (and pass them back to the
+ * controller when clicked), their stats are copied.
+ * </p>
+ *
+ * @author agent
+ */
+public final class HudSnapshot {
+
+  private final List<UnitIcon> units;
+  private final List<AbilityIcon> abilities;
+  private final List<AbilityIcon> items;
+  private final String goal;
+
+  private HudSnapshot(
+      List<UnitIcon> units,
+      List<AbilityIcon> abilities,
+      List<AbilityIcon> items,
+      String goal
+  ) {
+    this.units = Collections.unmodifiableList(units);
+    this.abilities = Collections.unmodifiableList(abilities);
+    this.items = Collections.unmodifiableList(items);
+    this.goal = goal;
+  }
+
+  /**
+   * Copies what the HUD shows out of the model. Must be called on the game model thread.
+   */
+  public static HudSnapshot of(GameModel gameModel, World world) {
+    Collection<Unit> selectedUnits = gameModel.getUnitSelection();
+
+    List<UnitIcon> units = new ArrayList<>(selectedUnits.size());
+    for (Unit unit : selectedUnits) {
+      if (unit.getHealth() != 0) {
+        units.add(new UnitIcon(unit));
+      }
+    }
+
+    List<AbilityIcon> abilities = new ArrayList<>();
+    List<AbilityIcon> items = new ArrayList<>();
+    if (selectedUnits.contains(gameModel.getHeroUnit())) {
+      for (Ability ability : gameModel.getHeroUnit().getAbilities()) {
+        abilities.add(new AbilityIcon(ability));
+      }
+      for (Ability item : gameModel.getHeroUnit().getItemAbilities()) {
+        items.add(new AbilityIcon(item));
+      }
+    }
+
+    return new HudSnapshot(units, abilities, items, world.getCurrentGoalDescription());
+  }
+
+  public List<UnitIcon> getUnits() {
+    return units;
+  }
+
+  public List<AbilityIcon> getAbilities() {
+    return abilities;
+  }
+
+  public List<AbilityIcon> getItems() {
+    return items;
+  }
+
+  public String getGoal() {
+    return goal;
+  }
+
+  /**
+   * The stats shown on a unit icon. Public so the HUD javascript can read them.
+   */
+  public static final class UnitIcon {
+
+    private final Unit unit;
+    private final double healthPercent;
+    private final int level;
+    private final double damage;
+    private final int attackSpeed;
+    private final double range;
+    private final double maxHealth;
+    private final double health;
+    private final double speed;
+
+    private UnitIcon(Unit unit) {
+      Attack attack = unit.getBaseAttack();
+      this.unit = unit;
+      this.healthPercent = unit.getHealthPercent();
+      this.level = unit.getLevel();
+      this.damage = attack.getAmount();
+      this.attackSpeed = attack.getModifiedAttackSpeed(unit);
+      this.range = attack.getModifiedRange(unit);
+      this.maxHealth = unit.getMaxHealth();
+      this.health = unit.getHealth();
+      this.speed = unit.getSpeed();
+    }
+
+    public Unit getUnit() {
+      return unit;
+    }
+
+    public double getHealthPercent() {
+      return healthPercent;
+    }
+
+    public int getLevel() {
+      return level;
+    }
+
+    public double getDamage() {
+      return damage;
+    }
+
+    public int getAttackSpeed() {
+      return attackSpeed;
+    }
+
+    public double getRange() {
+      return range;
+    }
+
+    public double getMaxHealth() {
+      return maxHealth;
+    }
+
+    public double getHealth() {
+      return health;
+    }
+
+    public double getSpeed() {
+      return speed;
+    }
+  }
+
+  /**
+   * The state shown on an ability or item icon. Public so the HUD javascript can read it.
+   */
+  public static final class AbilityIcon {
+
+    private final Ability ability;
+    private final double coolDownProgress;
+    private final boolean isSelected;
+    private final String description;
+    private final int uses;
+
+    private AbilityIcon(Ability ability) {
+      this.ability = ability;
+      this.coolDownProgress = ability.getCoolDownProgress();
+      this.isSelected = ability.isSelected();
+      this.description = ability.getDescription();
+      this.uses = ability.getUses();
+    }
+
+    public Ability getAbility() {
+      return ability;
+    }
+
+    public double getCoolDownProgress() {
+      return coolDownProgress;
+    }
+
+    public boolean isSelected() {
+      return isSelected;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public int getUses() {
+      return uses;
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package main.menu.controller;
 
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
 import javafx.scene.image.ImageView;
 import main.Main;
 import main.game.controller.DefaultGameController;
@@ -12,10 +14,12 @@ import main.game.model.world.saveandload.WorldSaveModel;
 import main.game.view.GameView;
 import main.menu.GameEndMenu;
 import main.menu.Hud;
+import main.menu.HudSnapshot;
 import main.menu.MainMenu;
 import main.renderer.DefaultRenderer;
 import main.renderer.Renderer;
 import main.util.Config;
+import main.util.Event;
 import main.util.Events.GameLost;
 import main.util.Events.GameWon;
 import main.util.Events.MainGameTick;
@@ -74,7 +78,13 @@ public class MainMenuController extends MenuController {
    */
   public void startBtn() {
     try {
+      long startTime = System.nanoTime();
       World world = this.worldLoader.load();
+      if (this.config.isDebugMode()) {
+        System.out.printf("Loaded world in %dms%n",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        System.out.print(this.worldLoader.getLoadReport());
+      }
       this.startGame(world);
     } catch (Exception e) {
       if (this.config.isDebugMode()) {
@@ -104,15 +114,18 @@ public class MainMenuController extends MenuController {
         this.mainMenu,
         gameView,
         renderer,
-        gameModel,
         filename -> this.worldSaveModel.save(world, filename),
         config
     );
-    tickEvent.registerListener(parameter -> hud.updateIcons());
-    tickEvent.registerListener(parameter -> hud.updateGoal(world.getCurrentGoalDescription()));
+    // The HUD is updated on the JavaFX thread so it doesn't slow down the game loop. What it shows
+    // is copied on the game loop thread so the JavaFX thread never reads the model mid tick.
+    Event<HudSnapshot> hudEvent = new Event<>();
+    hudEvent.registerCoalescedListener(hud::update, Platform::runLater);
+    tickEvent.registerListener(parameter -> hudEvent.broadcast(HudSnapshot.of(gameModel, world)));
     tickEvent.registerListener(parameter -> world.tick(config.getGameModelDelay()));
     wonEvent.registerListener(parameter -> {
       gameModel.stopGame();
+      this.printTickStatsIfDebugging(gameModel, renderer);
       renderer.stop();
       this.main.loadMenu(new GameEndMenu(this.main,
           this.mainMenu,
@@ -121,6 +134,7 @@ public class MainMenuController extends MenuController {
     });
     lostEvent.registerListener(parameter -> {
       gameModel.stopGame();
+      this.printTickStatsIfDebugging(gameModel, renderer);
       renderer.stop();
       this.main.loadMenu(new GameEndMenu(this.main,
           this.mainMenu,
@@ -133,6 +147,14 @@ public class MainMenuController extends MenuController {
     this.main.loadMenu(hud);
   }
 
+  private void printTickStatsIfDebugging(GameModel gameModel, Renderer renderer) {
+    if (this.config.isDebugMode()) {
+      System.out.println("Game loop: " + gameModel.getTickStats());
+      System.out.println("Render loop: " + renderer.getTickStats());
+      System.out.println("Frames: " + renderer.getFrameStats());
+    }
+  }
+
   /**
    * Exits the program imediatly.
    */
@@ -1,19 +1,26 @@
 package main.renderer;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import javafx.embed.swing.SwingFXUtils;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.scene.image.ImageView;
-import main.game.view.Renderable;
-import main.game.view.BackGroundView;
 import main.game.view.EntityView;
 import main.game.view.GameView;
+import main.game.view.RenderState;
 import main.util.Config;
 import main.util.Looper;
 import main.util.MapPoint;
+import main.util.MapRect;
 import main.util.MapSize;
+import main.util.TickStats;
 
 /**
  * Implementation of Renderer API.
@@ -22,10 +29,23 @@ import main.util.MapSize;
  */
 public class DefaultRenderer implements Renderer {
 
+  /**
+   * How far (in pixels) outside the screen something can be and still be drawn. Covers
+   * decorations that stick out of the image, like health change indicators floating up.
+   */
+  private static final int CULLING_MARGIN = 128;
+
+  private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
+
   private final GameView gameView;
   private final ImageView imageView;
   private final Config config;
   private final Looper looper;
+  private final FrameBuffers frameBuffers;
+  private final SpriteCache spriteCache = new SpriteCache();
+  private final Semaphore pulses = new Semaphore(0);
+
+  private AnimationTimer pulseTimer;
 
   /**
    * Creates a Renderer and the rendering loop.
@@ -40,6 +60,9 @@ public class DefaultRenderer implements Renderer {
     this.imageView = imageView;
     this.config = config;
     this.looper = looper;
+    this.frameBuffers = new FrameBuffers(
+        config.getContextScreenWidth(), config.getContextScreenHeight()
+    );
   }
 
   @Override
@@ -47,47 +70,51 @@ public class DefaultRenderer implements Renderer {
     Objects.requireNonNull(gameView);
     Objects.requireNonNull(imageView);
 
-    BufferedImage image = new BufferedImage(config.getContextScreenWidth(),
-        config.getContextScreenHeight(),
-        BufferedImage.TYPE_INT_ARGB);
+    BufferedImage image = frameBuffers.getBackFrame();
     Graphics2D g = image.createGraphics();
+    g.setBackground(TRANSPARENT);
+    g.clearRect(0, 0, image.getWidth(), image.getHeight());
     RenderingHints rh = new RenderingHints(
         RenderingHints.KEY_ANTIALIASING,
         RenderingHints.VALUE_ANTIALIAS_ON
     );
     g.setRenderingHints(rh);
-    BackGroundView background = gameView.getBackGroundView();
-    g.drawImage(background.getImage(),
-        (int)background.getImagePosition().x,
-        (int)background.getImagePosition().y,
-        (int)background.getImageSize().width,
-        (int)background.getImageSize().height,
-        null);
-    for (Renderable renderable : gameView.getRenderables(currentTime)) {
-      MapPoint position = renderable.getEntityScreenPosition(currentTime);
-      MapSize size = renderable.getEntityScreenSize();
-      renderable.drawDecorationsBeneth(g,
-          (int)(position.x - gameView.getViewBox().topLeft.x),
-          (int)(position.y - gameView.getViewBox().topLeft.y),
+    // Read the tick's states and the view box once so every pass draws the same frame
+    MapRect viewBox = gameView.getViewBox();
+    MapPoint viewOrigin = viewBox.topLeft;
+    gameView.getBackGroundView().draw(g, viewBox);
+    spriteCache.checkTileSize(config.getEntityViewTilePixelsX(), config.getEntityViewTilePixelsY());
+    List<RenderState> renderStates = new ArrayList<>();
+    for (RenderState renderState : gameView.getRenderStates(currentTime)) {
+      if (isOnScreen(renderState, currentTime, viewBox)) {
+        renderStates.add(renderState);
+      }
+    }
+    for (RenderState renderState : renderStates) {
+      MapPoint position = renderState.getEntityScreenPosition(currentTime);
+      MapSize size = renderState.getEntityScreenSize();
+      renderState.drawDecorationsBeneth(g,
+          (int)(position.x - viewOrigin.x),
+          (int)(position.y - viewOrigin.y),
           (int)size.width,
           (int)size.height);
     }
-    for (Renderable renderable : gameView.getRenderables(currentTime)) {
-      MapPoint position = renderable.getImagePosition(currentTime);
-      MapSize size = renderable.getImageSize();
-      g.drawImage(renderable.getImage().getImage(),
-          (int)(position.x - gameView.getViewBox().topLeft.x),
-          (int)(position.y - gameView.getViewBox().topLeft.y),
+    for (RenderState renderState : renderStates) {
+      MapPoint position = renderState.getImagePosition(currentTime);
+      MapSize size = renderState.getImageSize();
+      spriteCache.draw(g,
+          renderState.getImage(),
+          (int)(position.x - viewOrigin.x),
+          (int)(position.y - viewOrigin.y),
           (int)size.width,
-          (int)size.height,
-          null);
+          (int)size.height);
     }
-    for (Renderable renderable : gameView.getRenderables(currentTime)) {
-      MapPoint position = renderable.getEntityScreenPosition(currentTime);
-      MapSize size = renderable.getEntityScreenSize();
-      renderable.drawDecorationsOntop(g,
-          (int)(position.x - gameView.getViewBox().topLeft.x),
-          (int)(position.y - gameView.getViewBox().topLeft.y),
+    for (RenderState renderState : renderStates) {
+      MapPoint position = renderState.getEntityScreenPosition(currentTime);
+      MapSize size = renderState.getEntityScreenSize();
+      renderState.drawDecorationsOntop(g,
+          (int)(position.x - viewOrigin.x),
+          (int)(position.y - viewOrigin.y),
           (int)size.width,
           (int)size.height);
     }
@@ -120,8 +147,21 @@ public class DefaultRenderer implements Renderer {
       }
 
     }
-    imageView.setImage(SwingFXUtils.toFXImage(image, null));
+    g.dispose();
+    frameBuffers.swap(imageView);
+
+  }
 
+  /**
+   * Checks if any of the image of the state (plus the culling margin) is in the view box.
+   */
+  private static boolean isOnScreen(RenderState renderState, long currentTime, MapRect viewBox) {
+    MapPoint position = renderState.getImagePosition(currentTime);
+    MapSize size = renderState.getImageSize();
+    return position.x + size.width + CULLING_MARGIN >= viewBox.topLeft.x
+        && position.x - CULLING_MARGIN <= viewBox.bottomRight.x
+        && position.y + size.height + CULLING_MARGIN >= viewBox.topLeft.y
+        && position.y - CULLING_MARGIN <= viewBox.bottomRight.y;
   }
 
   @Override
@@ -134,15 +174,65 @@ public class DefaultRenderer implements Renderer {
     looper.setPaused(false);
   }
 
+  /**
+   * Starts drawing frames, either at the target frames per second or on every JavaFX pulse.
+   */
   @Override
   public void start() {
-    looper.start(
-        () -> drawAll(System.currentTimeMillis(), gameView, imageView)
-    );
+    if (config.isRenderingOnPulse()) {
+      pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+          pulses.release();
+        }
+      };
+      Platform.runLater(pulseTimer::start);
+      looper.start(() -> {
+        try {
+          pulses.acquire();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException("render loop interrupted", e);
+        }
+        // Pulses missed while drawing don't need to be drawn for
+        pulses.drainPermits();
+        drawFrame();
+      });
+    } else {
+      // In nanoseconds so the period isn't rounded down to a whole millisecond (or to 0)
+      long period = TimeUnit.SECONDS.toNanos(1) / config.getTargetFramesPerSecond();
+      looper.startAtFixedRate(this::drawFrame, Math.max(1, period), TimeUnit.NANOSECONDS);
+    }
   }
 
   @Override
   public void stop() {
     looper.stop();
+    if (pulseTimer != null) {
+      Platform.runLater(pulseTimer::stop);
+      // Wake the render loop up in case it is waiting for a pulse
+      pulses.release();
+    }
+  }
+
+  @Override
+  public FrameStats getFrameStats() {
+    return frameBuffers.getFrameStats();
+  }
+
+  @Override
+  public TickStats getTickStats() {
+    return looper.getTickStats();
+  }
+
+  /**
+   * Draws a frame unless the last one still hasn't been shown, so the renderer never gets ahead
+   * of the JavaFX thread.
+   */
+  private void drawFrame() {
+    if (frameBuffers.isFrameWaiting()) {
+      frameBuffers.getFrameStats().recordSkipped();
+      return;
+    }
+    drawAll(System.currentTimeMillis(), gameView, imageView);
   }
 }
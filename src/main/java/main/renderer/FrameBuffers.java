@@ -0,0 +1,108 @@
+package main.renderer;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import main.util.TripleBuffer;
+
+/**
+ * The images frames are drawn on, and the one JavaFX image they are shown with.
+ *
+ * <p>
+ * Frames are handed from the render thread to the JavaFX thread through a {@link TripleBuffer}, so
+ * neither has to wait for the other. The JavaFX thread copies the pixels of each new frame straight
+ * into the JavaFX image. If the JavaFX thread falls behind, frames it never got to are just drawn
+ * over (and counted as dropped).
+ * </p>
+ *
+ * <p>
+ * Everything is made up front, so drawing and showing frames doesn't make any new images.
+ * </p>
+ *
+ * @author agent
+ */
+class FrameBuffers {
+
+  private final int width;
+  private final int height;
+  private final TripleBuffer<Frame> frames;
+  private final WritableImage image;
+
+  private final AtomicBoolean isShowScheduled = new AtomicBoolean(false);
+  private final Runnable showFrame = this::showFrame;
+  private final FrameStats frameStats = new FrameStats();
+
+  private volatile ImageView imageView;
+
+  FrameBuffers(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.frames = new TripleBuffer<>(() -> new Frame(width, height));
+    this.image = new WritableImage(width, height);
+  }
+
+  FrameStats getFrameStats() {
+    return frameStats;
+  }
+
+  /**
+   * Checks if the last frame swapped in is still waiting to be shown.
+   */
+  boolean isFrameWaiting() {
+    return frames.hasNew();
+  }
+
+  /**
+   * Gets the frame to draw on. It may still have an old frame on it.
+   */
+  BufferedImage getBackFrame() {
+    return frames.getBack().image;
+  }
+
+  /**
+   * Hands the back frame over to be shown on the image view, and gets a new back frame ready.
+   */
+  void swap(ImageView imageView) {
+    this.imageView = imageView;
+    if (frames.publish()) {
+      frameStats.recordDropped();
+    }
+    if (isShowScheduled.compareAndSet(false, true)) {
+      Platform.runLater(showFrame);
+    }
+  }
+
+  private void showFrame() {
+    // Clear the flag first so a frame swapped in during the copy schedules another run
+    isShowScheduled.set(false);
+    if (!frames.takeNew()) {
+      return;
+    }
+    image.getPixelWriter().setPixels(
+        0, 0, width, height, PixelFormat.getIntArgbPreInstance(), frames.getFront().pixels, 0, width
+    );
+    if (imageView.getImage() != image) {
+      imageView.setImage(image);
+    }
+    frameStats.recordShown();
+  }
+
+  /**
+   * A frame image and its pixels.
+   */
+  private static class Frame {
+
+    final BufferedImage image;
+    final int[] pixels;
+
+    Frame(int width, int height) {
+      // Premultiplied so the pixels can be copied to JavaFX without converting them
+      this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+      this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+  }
+}
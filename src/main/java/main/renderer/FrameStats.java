@@ -0,0 +1,49 @@
+package main.renderer;
+
+/**
+ * Counts what happened to the frames the renderer was asked for.
+ *
+ * <p>
+ * A frame is skipped when it isn't drawn because the last one hasn't been shown yet. A frame is
+ * dropped when it was drawn but a newer one replaced it before it could be shown.
+ * </p>
+ *
+ * @author agent
+ */
+public class FrameStats {
+
+  private long shownCount;
+  private long skippedCount;
+  private long droppedCount;
+
+  synchronized void recordShown() {
+    shownCount++;
+  }
+
+  synchronized void recordSkipped() {
+    skippedCount++;
+  }
+
+  synchronized void recordDropped() {
+    droppedCount++;
+  }
+
+  public synchronized long getShownCount() {
+    return shownCount;
+  }
+
+  public synchronized long getSkippedCount() {
+    return skippedCount;
+  }
+
+  public synchronized long getDroppedCount() {
+    return droppedCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        "shown=%d skipped=%d dropped=%d", shownCount, skippedCount, droppedCount
+    );
+  }
+}
@@ -2,6 +2,7 @@ package main.renderer;
 
 import javafx.scene.image.ImageView;
 import main.game.view.GameView;
+import main.util.TickStats;
 
 /**
  * Renders all renderables onto a canvas and supplies the Renderable interface. Ideally it will use
@@ -43,4 +44,14 @@ public interface Renderer {
    * Stops the looper.
    */
   void stop();
+
+  /**
+   * Gets how many frames have been shown, skipped and dropped so far.
+   */
+  FrameStats getFrameStats();
+
+  /**
+   * Gets how long frames took to draw and how close to on time they were.
+   */
+  TickStats getTickStats();
 }
@@ -0,0 +1,174 @@
+package main.renderer;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import main.game.model.data.dataobject.ImageData;
+
+/**
+ * Keeps copies of images already scaled to the size they are drawn at, so drawing them each frame
+ * is a straight copy rather than a resample.
+ *
+ * <p>
+ * Scaled images are packed next to each other in rows on a few large atlas images made to match
+ * the image being drawn on. When the atlases are full, or the size of a tile on screen changes,
+ * everything is forgotten and packed again as it is drawn.
+ * </p>
+ *
+ * <p>
+ * Only used by the render thread.
+ * </p>
+ *
+ * @author agent
+ */
+class SpriteCache {
+
+  private static final int ATLAS_SIZE = 2048;
+  private static final int MAX_ATLASES = 8;
+
+  private final Map<SpriteKey, Sprite> sprites = new HashMap<>();
+  private final List<BufferedImage> atlases = new ArrayList<>();
+
+  // Where the next sprite goes in the last atlas
+  private int rowX = 0;
+  private int rowY = 0;
+  private int rowHeight = 0;
+
+  private int tilePixelsX;
+  private int tilePixelsY;
+
+  /**
+   * Forgets everything if the size of a tile on screen has changed since last time.
+   */
+  void checkTileSize(int tilePixelsX, int tilePixelsY) {
+    if (tilePixelsX != this.tilePixelsX || tilePixelsY != this.tilePixelsY) {
+      this.clear();
+      this.tilePixelsX = tilePixelsX;
+      this.tilePixelsY = tilePixelsY;
+    }
+  }
+
+  /**
+   * Draws the image at the size given, scaling and caching it the first time it is drawn at that
+   * size.
+   */
+  void draw(Graphics2D g, ImageData imageData, int x, int y, int width, int height) {
+    BufferedImage image = imageData.getImage();
+    if (image == null || width <= 0 || height <= 0) {
+      return;
+    }
+    SpriteKey key = new SpriteKey(imageData, width, height);
+    Sprite sprite = this.sprites.get(key);
+    if (sprite == null) {
+      sprite = this.pack(g, image, width, height);
+      if (sprite == null) {
+        // Too big for an atlas
+        g.drawImage(image, x, y, width, height, null);
+        return;
+      }
+      this.sprites.put(key, sprite);
+    }
+    g.drawImage(sprite.atlas,
+        x, y, x + width, y + height,
+        sprite.x, sprite.y, sprite.x + width, sprite.y + height,
+        null);
+  }
+
+  private Sprite pack(Graphics2D g, BufferedImage image, int width, int height) {
+    if (width > ATLAS_SIZE || height > ATLAS_SIZE) {
+      return null;
+    }
+    if (this.atlases.isEmpty() || this.rowX + width > ATLAS_SIZE) {
+      // Start a new row
+      this.rowX = 0;
+      this.rowY += this.rowHeight;
+      this.rowHeight = 0;
+    }
+    if (this.atlases.isEmpty() || this.rowY + height > ATLAS_SIZE) {
+      if (this.atlases.size() == MAX_ATLASES) {
+        this.clear();
+      }
+      this.atlases.add(g.getDeviceConfiguration()
+          .createCompatibleImage(ATLAS_SIZE, ATLAS_SIZE, Transparency.TRANSLUCENT));
+      this.rowX = 0;
+      this.rowY = 0;
+      this.rowHeight = 0;
+    }
+
+    BufferedImage atlas = this.atlases.get(this.atlases.size() - 1);
+    Graphics2D atlasGraphics = atlas.createGraphics();
+    atlasGraphics.setRenderingHint(
+        RenderingHints.KEY_INTERPOLATION,
+        RenderingHints.VALUE_INTERPOLATION_BILINEAR
+    );
+    atlasGraphics.drawImage(image, this.rowX, this.rowY, width, height, null);
+    atlasGraphics.dispose();
+
+    Sprite sprite = new Sprite(atlas, this.rowX, this.rowY);
+    this.rowX += width;
+    this.rowHeight = Math.max(this.rowHeight, height);
+    return sprite;
+  }
+
+  private void clear() {
+    this.sprites.clear();
+    this.atlases.clear();
+    this.rowX = 0;
+    this.rowY = 0;
+    this.rowHeight = 0;
+  }
+
+  /**
+   * An image at a size. Images are compared by identity.
+   */
+  private static class SpriteKey {
+
+    private final ImageData imageData;
+    private final int width;
+    private final int height;
+
+    SpriteKey(ImageData imageData, int width, int height) {
+      this.imageData = imageData;
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      SpriteKey other = (SpriteKey) o;
+      return imageData == other.imageData && width == other.width && height == other.height;
+    }
+
+    @Override
+    public int hashCode() {
+      return (System.identityHashCode(imageData) * 31 + width) * 31 + height;
+    }
+  }
+
+  /**
+   * Where a scaled image is in the atlases.
+   */
+  private static class Sprite {
+
+    private final BufferedImage atlas;
+    private final int x;
+    private final int y;
+
+    Sprite(BufferedImage atlas, int x, int y) {
+      this.atlas = atlas;
+      this.x = x;
+      this.y = y;
+    }
+  }
+}
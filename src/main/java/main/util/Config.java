@@ -15,6 +15,9 @@ public class Config {
 
   private double gameViewScrollSpeed = 50;
 
+  private int targetFramesPerSecond = 60;
+  private boolean isRenderingOnPulse = false;
+
   private double entityViewTilePixelsRatio = 2.0 / 3;
   private int entityViewTilePixelsX = 120;
   private int entityViewTilePixelsY = (int) (entityViewTilePixelsX * entityViewTilePixelsRatio);
@@ -43,6 +46,32 @@ public class Config {
     return gameViewScrollSpeed;
   }
 
+  /**
+   * The most frames per second the renderer will draw.
+   */
+  public int getTargetFramesPerSecond() {
+    return targetFramesPerSecond;
+  }
+
+  public void setTargetFramesPerSecond(int targetFramesPerSecond) {
+    if (targetFramesPerSecond <= 0) {
+      throw new IllegalArgumentException("Must render at least one frame per second");
+    }
+    this.targetFramesPerSecond = targetFramesPerSecond;
+  }
+
+  /**
+   * Whether the renderer draws a frame on every JavaFX pulse instead of at the target frames per
+   * second.
+   */
+  public boolean isRenderingOnPulse() {
+    return isRenderingOnPulse;
+  }
+
+  public void setRenderingOnPulse(boolean isRenderingOnPulse) {
+    this.isRenderingOnPulse = isRenderingOnPulse;
+  }
+
   public int getEntityViewTilePixelsX() {
     return entityViewTilePixelsX;
   }
@@ -3,10 +3,19 @@ package main.util;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Similar to the Observable class in Java.
  *
+ * <p>
+ * Listeners are normally notified on the thread that broadcasts. Listeners that don't need to hold
+ * up the broadcaster (e.g. UI updates from the game loop) can be registered with an
+ * {@link Executor} to be notified on instead, optionally coalesced so a slow executor only ever has
+ * one notification waiting.
+ * </p>
+ *
  * @param <ParamT> the arg
  * @author chongdyla
  */
@@ -19,6 +28,23 @@ public class Event<ParamT> implements Serializable {
     return () -> listeners.remove(listener);
   }
 
+  /**
+   * Registers a listener that is notified by the executor (e.g. Platform::runLater for the JavaFX
+   * thread) rather than on the broadcasting thread.
+   */
+  public Runnable registerListener(Listener<ParamT> listener, Executor executor) {
+    return registerListener(parameter -> executor.execute(() -> listener.onNotify(parameter)));
+  }
+
+  /**
+   * Registers a listener that is notified by the executor, but skips broadcasts that happen while
+   * it is still waiting to be notified. The listener gets the latest parameter, so it runs as often
+   * as the executor can keep up with and never falls behind.
+   */
+  public Runnable registerCoalescedListener(Listener<ParamT> listener, Executor executor) {
+    return registerListener(new CoalescingListener<>(listener, executor));
+  }
+
   public void broadcast(ParamT parameter) {
     listeners.forEach(listener -> listener.onNotify(parameter));
   }
@@ -28,4 +54,29 @@ public class Event<ParamT> implements Serializable {
 
     void onNotify(ParamT parameter);
   }
+
+  private static class CoalescingListener<ParamT> implements Listener<ParamT> {
+
+    private final Listener<ParamT> listener;
+    private final Executor executor;
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private volatile ParamT latestParameter;
+
+    CoalescingListener(Listener<ParamT> listener, Executor executor) {
+      this.listener = listener;
+      this.executor = executor;
+    }
+
+    @Override
+    public void onNotify(ParamT parameter) {
+      latestParameter = parameter;
+      if (isScheduled.compareAndSet(false, true)) {
+        executor.execute(() -> {
+          // Clear the flag first so a broadcast during the listener schedules another run
+          isScheduled.set(false);
+          listener.onNotify(latestParameter);
+        });
+      }
+    }
+  }
 }
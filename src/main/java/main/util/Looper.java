@@ -2,6 +2,7 @@ package main.util;
 
 import static java.lang.Thread.sleep;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -10,9 +11,19 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class Looper {
 
+  /**
+   * How many periods a fixed rate loop can fall behind before it stops trying to catch up.
+   */
+  private static final int MAX_CATCH_UP_TICKS = 5;
+
   private final AtomicBoolean isPaused = new AtomicBoolean(false);
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
   private final Object pauseLock = new Object();
+  private final TickStats tickStats = new TickStats();
+
+  // Only used by the looping thread
+  private long nextTickTime;
+  private boolean isScheduleStale = true;
 
   /**
    * Start looping on a new thread.
@@ -32,6 +43,8 @@ public class Looper {
             synchronized (pauseLock) {
               pauseLock.wait();
             }
+            // Time spent paused shouldn't be caught up on
+            isScheduleStale = true;
           }
         }
       } catch (InterruptedException e) {
@@ -57,6 +70,80 @@ public class Looper {
     });
   }
 
+  /**
+   * Start looping on a new thread, running the repeatable once every period. Unlike
+   * {@link #startWithSchedule(Runnable, long)} the time the repeatable takes is part of the period,
+   * so it runs at the same average rate under load.
+   *
+   * <p>
+   * If a run takes longer than the period the next runs start straight away to catch up. If the
+   * loop gets more than a few periods behind it gives up on the missed runs (they are counted in
+   * {@link #getTickStats()} as skipped) and carries on from now, so the loop slows down rather
+   * than running flat out forever.
+   * </p>
+   *
+   * @param repeatable method to run
+   * @param period milliseconds between the start of each run
+   */
+  public void startAtFixedRate(Runnable repeatable, long period) {
+    startAtFixedRate(repeatable, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Same as {@link #startAtFixedRate(Runnable, long)} with the period in any unit, for periods
+   * that aren't a whole number of milliseconds.
+   *
+   * @param repeatable method to run
+   * @param period time between the start of each run
+   * @param unit the unit of the period
+   */
+  public void startAtFixedRate(Runnable repeatable, long period, TimeUnit unit) {
+    long periodNanos = unit.toNanos(period);
+    if (periodNanos <= 0) {
+      throw new IllegalArgumentException("Period must be positive");
+    }
+    start(() -> {
+      try {
+        runOnSchedule(repeatable, periodNanos);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException("task interrupted", e);
+      }
+    });
+  }
+
+  /**
+   * Gets the timings of the runs so far. Only filled in by
+   * {@link #startAtFixedRate(Runnable, long)}.
+   */
+  public TickStats getTickStats() {
+    return tickStats;
+  }
+
+  private void runOnSchedule(Runnable repeatable, long periodNanos) throws InterruptedException {
+    long startTime = System.nanoTime();
+    if (isScheduleStale) {
+      nextTickTime = startTime;
+      isScheduleStale = false;
+    }
+
+    long lateness = startTime - nextTickTime;
+    if (lateness > periodNanos * MAX_CATCH_UP_TICKS) {
+      long missedTicks = lateness / periodNanos;
+      tickStats.recordSkipped(missedTicks);
+      nextTickTime += missedTicks * periodNanos;
+      lateness -= missedTicks * periodNanos;
+    }
+
+    repeatable.run();
+
+    tickStats.recordTick(System.nanoTime() - startTime, lateness, periodNanos);
+    nextTickTime += periodNanos;
+    long sleepTime = nextTickTime - System.nanoTime();
+    if (sleepTime > 0) {
+      TimeUnit.NANOSECONDS.sleep(sleepTime);
+    }
+  }
+
   /**
    * Stops the running thread.
    */
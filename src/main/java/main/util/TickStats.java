@@ -0,0 +1,84 @@
+package main.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of how long the ticks of a fixed rate {@link Looper} take and how close to their
+ * scheduled time they start.
+ *
+ * <p>
+ * A tick overruns when it takes longer than the period. Jitter is how late a tick started compared
+ * to when it was scheduled. Skipped ticks were given up on because the loop got too far behind to
+ * catch up.
+ * </p>
+ *
+ * @author agent
+ */
+public class TickStats {
+
+  private long tickCount;
+  private long overrunCount;
+  private long skippedCount;
+  private long totalDurationNanos;
+  private long maxDurationNanos;
+  private long totalLatenessNanos;
+  private long maxLatenessNanos;
+
+  synchronized void recordTick(long durationNanos, long latenessNanos, long periodNanos) {
+    tickCount++;
+    totalDurationNanos += durationNanos;
+    maxDurationNanos = Math.max(maxDurationNanos, durationNanos);
+    totalLatenessNanos += latenessNanos;
+    maxLatenessNanos = Math.max(maxLatenessNanos, latenessNanos);
+    if (durationNanos > periodNanos) {
+      overrunCount++;
+    }
+  }
+
+  synchronized void recordSkipped(long ticks) {
+    skippedCount += ticks;
+  }
+
+  public synchronized long getTickCount() {
+    return tickCount;
+  }
+
+  public synchronized long getOverrunCount() {
+    return overrunCount;
+  }
+
+  public synchronized long getSkippedCount() {
+    return skippedCount;
+  }
+
+  public synchronized double getAverageDurationMillis() {
+    return tickCount == 0 ? 0 : toMillis(totalDurationNanos) / tickCount;
+  }
+
+  public synchronized double getMaxDurationMillis() {
+    return toMillis(maxDurationNanos);
+  }
+
+  public synchronized double getAverageJitterMillis() {
+    return tickCount == 0 ? 0 : toMillis(totalLatenessNanos) / tickCount;
+  }
+
+  public synchronized double getMaxJitterMillis() {
+    return toMillis(maxLatenessNanos);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        "ticks=%d overruns=%d skipped=%d duration(avg=%.2fms max=%.2fms) "
+            + "jitter(avg=%.2fms max=%.2fms)",
+        tickCount, overrunCount, skippedCount,
+        getAverageDurationMillis(), getMaxDurationMillis(),
+        getAverageJitterMillis(), getMaxJitterMillis()
+    );
+  }
+
+  private static double toMillis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -64,4 +64,15 @@ public class TickTimer implements Serializable {
   public int getMaxTicks() {
     return maxTicks;
   }
+
+  public int getTicksLeft() {
+    return ticksLeft;
+  }
+
+  /**
+   * Sets the number of ticks left, kept between 0 and the max ticks.
+   */
+  public void setTicksLeft(int ticksLeft) {
+    this.ticksLeft = Math.max(0, Math.min(maxTicks, ticksLeft));
+  }
 }
@@ -0,0 +1,98 @@
+package main.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Three reused buffers for handing things drawn on one thread to another thread without either of
+ * them having to wait.
+ *
+ * <p>
+ * The producer draws on the back buffer, then publishes it by swapping it with the middle one. The
+ * consumer takes the middle buffer to the front when a new one has been published, and can keep
+ * using the front buffer until it takes another one. If the consumer falls behind, buffers it never
+ * took are drawn over.
+ * </p>
+ *
+ * <p>
+ * {@link #getBack()} and {@link #publish()} must only be called by the producer thread, and
+ * {@link #takeNew()} and {@link #getFront()} only by the consumer thread.
+ * </p>
+ *
+ * @param <T> the type of the buffers
+ * @author agent
+ */
+public class TripleBuffer<T> {
+
+  private static final int INDEX_MASK = 0b11;
+  private static final int IS_NEW = 0b100;
+
+  private final List<T> buffers = new ArrayList<>(3);
+
+  /**
+   * The index of the middle buffer, and whether it is new since the consumer last took it.
+   */
+  private final AtomicInteger middle = new AtomicInteger(1);
+
+  /** Only used by the producer. */
+  private int back = 0;
+  /** Only used by the consumer. */
+  private int front = 2;
+
+  /**
+   * Makes the three buffers.
+   */
+  public TripleBuffer(Supplier<T> makeBuffer) {
+    for (int i = 0; i < 3; i++) {
+      buffers.add(makeBuffer.get());
+    }
+  }
+
+  /**
+   * Gets the buffer to draw on. It may still have something old drawn on it.
+   */
+  public T getBack() {
+    return buffers.get(back);
+  }
+
+  /**
+   * Hands the back buffer over to the consumer, and gets a new back buffer ready.
+   *
+   * @return whether the buffer published before this one was never taken
+   */
+  public boolean publish() {
+    int oldMiddle = middle.getAndSet(back | IS_NEW);
+    back = oldMiddle & INDEX_MASK;
+    return (oldMiddle & IS_NEW) != 0;
+  }
+
+  /**
+   * Checks if the last buffer published is still waiting to be taken. Can be called by either
+   * thread.
+   */
+  public boolean hasNew() {
+    return (middle.get() & IS_NEW) != 0;
+  }
+
+  /**
+   * Takes the last buffer published to the front, if it hasn't been taken already.
+   *
+   * @return whether there was a new buffer
+   */
+  public boolean takeNew() {
+    if (!hasNew()) {
+      return false;
+    }
+    front = middle.getAndSet(front) & INDEX_MASK;
+    return true;
+  }
+
+  /**
+   * Gets the buffer that was last taken. It is not drawn on until another one is taken.
+   */
+  public T getFront() {
+    return buffers.get(front);
+  }
+}